@@ -29,6 +29,16 @@ android {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
     }
+    testOptions {
+        // モデル層のテストで android.util.Log を呼び出すため
+        unitTests.isReturnDefaultValues = true
+    }
+    sourceSets {
+        // 開発用ツール（パズル生成・戦略検証など）はアプリに含めず、テストと同じクラスパスでビルドする
+        getByName("test") {
+            java.srcDir("src/tools/java")
+        }
+    }
 }
 
 dependencies {
@@ -37,6 +47,8 @@ dependencies {
     implementation(libs.material)
     implementation(libs.activity)
     implementation(libs.constraintlayout)
+    implementation(libs.recyclerview)
+    implementation(libs.lifecycle.viewmodel)
     testImplementation(libs.junit)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
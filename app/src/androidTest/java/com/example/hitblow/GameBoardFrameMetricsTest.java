@@ -0,0 +1,91 @@
+package com.example.hitblow;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Intent;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.view.FrameMetrics;
+import android.view.Window;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.hitblow.view.GameActivity;
+import com.example.hitblow.view.GameBoardView;
+import com.example.hitblow.view.ModeSelectActivity;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GameBoardView の判定オーバーレイ・カード公開アニメーション中のフレーム計測テスト。
+ * 盤面Viewのメソッドを直接呼び出し、アニメーション中にレイアウトの再計算が発生せず、
+ * 描画が1フレームの予算内に収まることを検証します。
+ * CALLボタンからのコール処理全体（ターン表示・ボタンの表示切り替え・履歴の追加）は計測の対象外です。
+ */
+@RunWith(AndroidJUnit4.class)
+public class GameBoardFrameMetricsTest {
+    private static final long FRAME_BUDGET_NANOS = 16_666_667L;
+    private static final long LAYOUT_TOLERANCE_NANOS = 500_000L;
+
+    @Test
+    public void callResultOverlay_drawsWithoutLayoutPass() throws Exception {
+        assertSmoothFrames(board -> board.showCallResult(1, 2), 2500);
+    }
+
+    @Test
+    public void revealAnimation_drawsWithoutLayoutPass() throws Exception {
+        assertSmoothFrames(board -> board.reveal("0123", true), 800);
+    }
+
+    private interface BoardAction {
+        void run(GameBoardView board);
+    }
+
+    private void assertSmoothFrames(BoardAction action, long durationMillis) throws Exception {
+        Intent intent = new Intent(ApplicationProvider.getApplicationContext(), GameActivity.class)
+                .putExtra(ModeSelectActivity.EXTRA_DIGITS, 4);
+
+        try (ActivityScenario<GameActivity> scenario = ActivityScenario.launch(intent)) {
+            InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+            List<long[]> frames = new ArrayList<>();
+            HandlerThread metricsThread = new HandlerThread("frame-metrics");
+            metricsThread.start();
+            Window.OnFrameMetricsAvailableListener listener = (window, metrics, dropped) -> {
+                synchronized (frames) {
+                    frames.add(new long[]{
+                            metrics.getMetric(FrameMetrics.LAYOUT_MEASURE_DURATION),
+                            metrics.getMetric(FrameMetrics.TOTAL_DURATION)
+                    });
+                }
+            };
+
+            scenario.onActivity(activity -> {
+                activity.getWindow().addOnFrameMetricsAvailableListener(
+                        listener, new Handler(metricsThread.getLooper()));
+                action.run(activity.findViewById(R.id.game_board_view));
+            });
+            Thread.sleep(durationMillis);
+            scenario.onActivity(activity -> activity.getWindow().removeOnFrameMetricsAvailableListener(listener));
+            metricsThread.quitSafely();
+
+            synchronized (frames) {
+                assertFalse("no frames were recorded", frames.isEmpty());
+                int janky = 0;
+                for (long[] frame : frames) {
+                    assertTrue("layout pass during animation: " + frame[0] + "ns", frame[0] < LAYOUT_TOLERANCE_NANOS);
+                    if (frame[1] > FRAME_BUDGET_NANOS) janky++;
+                }
+                assertTrue("too many janky frames: " + janky + "/" + frames.size(), janky * 10 <= frames.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.hitblow.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * 回答履歴と矛盾しない正解候補について、「各桁に各数字が来る確率」を保持するクラス。
+ *
+ * <p>候補の集合を BitSet で持ち、桁×数字ごとの候補数を数えておきます。
+ * 新しい判定結果を反映するときは、残っている候補だけを走査し、矛盾して除外された候補の分だけ
+ * 数を減らします。候補は単調に減るため、毎ターン全コードを列挙し直す必要はありません。
+ * 初期状態の数はルールの対称性から計算で求めるため、生成時にもコードを列挙しません。</p>
+ *
+ * <p>スレッドセーフではありません。画面では1つのバックグラウンドスレッドからのみ更新し、
+ * 表示には {@link #copyProbabilities(float[])} で取り出したコピーを渡します。</p>
+ */
+public class CandidateHeatmap {
+    private final CodeSpace space;
+    private final int digits;
+    private final BitSet alive;    // 残っている候補（CodeSpace のインデックス）
+    private final int[] counts;    // [桁 × 10 + 数字] ごとの残り候補数（桁0が左端）
+    private int aliveCount;
+    private int appliedTurns = 0;  // 反映済みの履歴の件数
+
+    public CandidateHeatmap(CodeSpace space) {
+        this.space = space;
+        this.digits = space.getDigits();
+        this.alive = new BitSet(space.size());
+        this.alive.set(0, space.size());
+        this.aliveCount = space.size();
+        this.counts = new int[digits * 10];
+        // どちらのルールでも、各桁に各数字が来るコードは全体のちょうど1/10
+        Arrays.fill(counts, space.size() / 10);
+    }
+
+    /**
+     * 履歴のうち、まだ反映していないターンの判定結果を反映します。
+     * 毎ターンのコール後や、画面の再生成時に呼び出します。
+     */
+    public void syncWith(HistoryStore history) {
+        for (int i = appliedTurns; i < history.size(); i++) {
+            apply(history.guessCodeAt(i), CodeSpace.response(history.eatsAt(i), history.bitesAt(i)));
+        }
+        appliedTurns = history.size();
+    }
+
+    /**
+     * 履歴の複製（{@link HistoryStore#wordAt(int)} の値を先頭から並べた配列）のうち、
+     * まだ反映していないターンの判定結果を反映します。
+     * UIスレッドで履歴を複製し、集計をバックグラウンドで行う場合に使います。
+     */
+    public void syncWith(long[] words) {
+        for (int i = appliedTurns; i < words.length; i++) {
+            long word = words[i];
+            apply(HistoryStore.guessCodeOf(word),
+                    CodeSpace.response(HistoryStore.eatsOf(word), HistoryStore.bitesOf(word)));
+        }
+        appliedTurns = Math.max(appliedTurns, words.length);
+    }
+
+    /**
+     * 1回の判定結果を反映し、矛盾する候補を除外します。
+     *
+     * @param guessCode 推測コード
+     * @param response  判定結果（CodeSpace#response形式）
+     */
+    public void apply(int guessCode, int response) {
+        int guessIndex = space.indexOf(guessCode);
+        for (int index = alive.nextSetBit(0); index >= 0; index = alive.nextSetBit(index + 1)) {
+            int code = space.codeAt(index);
+            int actual = guessIndex >= 0 ? space.score(index, guessIndex) : CodeSpace.judge(code, guessCode, digits);
+            if (actual == response) continue;
+            alive.clear(index);
+            aliveCount--;
+            for (int position = 0; position < digits; position++) {
+                int digit = (code >>> ((digits - 1 - position) * 4)) & 0xF;
+                counts[position * 10 + digit]--;
+            }
+        }
+    }
+
+    public int getDigits() {
+        return digits;
+    }
+
+    /**
+     * 残っている正解候補の数を返します。
+     */
+    public int getCandidateCount() {
+        return aliveCount;
+    }
+
+    /**
+     * 指定桁（0が左端）に指定の数字が来る候補の数を返します。
+     */
+    public int countAt(int position, int digit) {
+        return counts[position * 10 + digit];
+    }
+
+    /**
+     * 指定桁に指定の数字が来る確率（0〜1）を返します。候補がない場合は0です。
+     */
+    public float probabilityAt(int position, int digit) {
+        return aliveCount == 0 ? 0f : (float) counts[position * 10 + digit] / aliveCount;
+    }
+
+    /**
+     * 全桁・全数字の確率を [桁 × 10 + 数字] の順で配列に書き込みます（描画用、配列は呼び出し側で使い回します）。
+     */
+    public void copyProbabilities(float[] out) {
+        for (int i = 0; i < counts.length; i++) {
+            out[i] = aliveCount == 0 ? 0f : (float) counts[i] / aliveCount;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.hitblow.model;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * 指定桁数で取り得るすべての数字列（コード）を列挙・判定するクラス。
+ * 各コードは1桁を4bit（ニブル）として int に詰めた形式（例: "0123" → 0x0123）で保持し、
+ * 文字列を介さずに EAT/BITE の判定を行います。ソルバーや検証ツールなど、
+ * 大量の判定を繰り返す処理から利用することを想定しています。
+ *
+ * <p>同じ数字の重複を許すルール（マスターマインド方式）では候補が 10^n 通りに増えるため、
+ * コードを配列に展開せず、インデックス（10進数としての値）から都度計算して列挙します。</p>
+ */
+public class CodeSpace {
+    /** int に詰められる最大桁数（4bit × 8桁） */
+    public static final int MAX_DIGITS = 8;
+
+    // 数字ごとの出現数を 6bit × 10レーンで long に詰めた形式で使う定数
+    private static final long COUNT_LANE_HIGH = 0x820820820820820L; // 各レーンの最上位bit（ガードbit）
+    private static final long COUNT_LANE_ONES = 0x041041041041041L; // 各レーンの最下位bit
+
+    private final int digits;          // 桁数
+    private final boolean allowRepeats; // 同じ数字の重複を許すか
+    private final int size;            // 全コード数
+    private final int[] codes;         // 全コード（昇順、重複なしルールのみ）
+    private final short[] digitSets;   // 各コードに含まれる数字の集合（bit0〜bit9、重複なしルールのみ）
+
+    /**
+     * 重複のない数字で構成される、指定桁数の全コードを列挙します。
+     *
+     * @param digits 桁数（1〜8）
+     */
+    public CodeSpace(int digits) {
+        this(digits, false);
+    }
+
+    /**
+     * 指定桁数・ルールのコード空間を生成します。
+     *
+     * @param digits       桁数（1〜8）
+     * @param allowRepeats true の場合は同じ数字の重複を許す（全 10^n 通り、配列には展開しない）
+     */
+    public CodeSpace(int digits, boolean allowRepeats) {
+        if (digits < 1 || digits > MAX_DIGITS) {
+            throw new IllegalArgumentException("digits must be 1.." + MAX_DIGITS + ": " + digits);
+        }
+        this.digits = digits;
+        this.allowRepeats = allowRepeats;
+
+        int count = 1;
+        for (int i = 0; i < digits; i++) count *= allowRepeats ? 10 : 10 - i;
+        this.size = count;
+        if (allowRepeats) {
+            this.codes = null;
+            this.digitSets = null;
+            return;
+        }
+        this.codes = new int[count];
+        this.digitSets = new short[count];
+
+        // 上位桁から辞書順に列挙するため、コードは昇順に並ぶ
+        int[] filled = {0};
+        enumerate(0, 0, 0, filled);
+    }
+
+    private void enumerate(int depth, int code, int used, int[] filled) {
+        if (depth == digits) {
+            codes[filled[0]] = code;
+            digitSets[filled[0]] = (short) used;
+            filled[0]++;
+            return;
+        }
+        for (int d = 0; d <= 9; d++) {
+            if ((used & (1 << d)) == 0) {
+                enumerate(depth + 1, (code << 4) | d, used | (1 << d), filled);
+            }
+        }
+    }
+
+    /**
+     * 桁数を返します。
+     */
+    public int getDigits() {
+        return digits;
+    }
+
+    /**
+     * 同じ数字の重複を許すルールかどうかを返します。
+     */
+    public boolean isRepeatsAllowed() {
+        return allowRepeats;
+    }
+
+    /**
+     * 全コード数を返します。
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 指定インデックスのコードを返します。
+     * 重複ありルールではインデックスを10進数とみなし、各桁をニブルに詰め直して求めます。
+     */
+    public int codeAt(int index) {
+        if (!allowRepeats) return codes[index];
+        int code = 0;
+        for (int shift = 0; shift < digits * 4; shift += 4) {
+            code |= (index % 10) << shift;
+            index /= 10;
+        }
+        return code;
+    }
+
+    /**
+     * コードのインデックスを返します。存在しない場合は負の値を返します。
+     */
+    public int indexOf(int code) {
+        if (!allowRepeats) return Arrays.binarySearch(codes, code);
+        int index = 0;
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            int digit = (code >>> shift) & 0xF;
+            if (digit > 9) return -1;
+            index = index * 10 + digit;
+        }
+        return index;
+    }
+
+    /**
+     * 全コードを昇順に列挙するストリームを返します（配列には展開しません）。
+     */
+    public IntStream codes() {
+        return IntStream.range(0, size).map(this::codeAt);
+    }
+
+    /**
+     * 正解と推測（いずれもインデックス指定）の判定結果を返します。
+     *
+     * @param answerIndex 正解コードのインデックス
+     * @param guessIndex  推測コードのインデックス
+     * @return {@link #response(int, int)} 形式の判定結果
+     */
+    public int score(int answerIndex, int guessIndex) {
+        if (allowRepeats) return judge(codeAt(answerIndex), codeAt(guessIndex), digits);
+        int eats = countEats(codes[answerIndex] ^ codes[guessIndex], digits);
+        int common = Integer.bitCount(digitSets[answerIndex] & digitSets[guessIndex]);
+        return response(eats, common - eats);
+    }
+
+    /**
+     * 判定結果を配列の添字として使う場合に必要な要素数を返します。
+     */
+    public int responseSlots() {
+        return response(digits, 0) + 1;
+    }
+
+    /**
+     * 全桁一致（正解）を表す判定結果を返します。
+     */
+    public int solvedResponse() {
+        return response(digits, 0);
+    }
+
+    // --- 判定ロジック（GameManager と共通） ---
+
+    /**
+     * 正解と推測のコードから EAT/BITE を判定します（GameManager#processCall と共通の規則）。
+     * BITE は「各数字について正解・推測での出現数の小さい方」の合計から EAT を引いた値で、
+     * 同じ数字の重複を含むコードでも正しく判定できます（重複がない場合は従来の判定と一致します）。
+     *
+     * @param answer 正解コード
+     * @param guess  推測コード
+     * @param digits 桁数
+     * @return {@link #response(int, int)} 形式の判定結果
+     */
+    public static int judge(int answer, int guess, int digits) {
+        int eats = countEats(answer ^ guess, digits);
+        int common = commonDigitCount(digitCounts(answer, digits), digitCounts(guess, digits));
+        return response(eats, common - eats);
+    }
+
+    /**
+     * コードに含まれる各数字の出現数を、6bit × 10レーン（数字0がbit0〜5）の long に詰めて返します。
+     */
+    static long digitCounts(int code, int digits) {
+        long counts = 0L;
+        for (int i = 0; i < digits; i++) {
+            counts += 1L << (((code >>> (i * 4)) & 0xF) * 6);
+        }
+        return counts;
+    }
+
+    /**
+     * 2つの出現数から、レーンごとの最小値の合計（共通する数字の個数）を分岐なしで求めます（SWAR）。
+     * 各レーンの値は8以下のため、ガードbitを立てて減算してもレーン間で桁借りは発生しません。
+     */
+    static int commonDigitCount(long countsA, long countsB) {
+        long aGreaterOrEqual = (((countsA | COUNT_LANE_HIGH) - countsB) & COUNT_LANE_HIGH) >>> 5;
+        long takeB = aGreaterOrEqual * 0x3F; // a >= b のレーンを全bit 1 にするマスク
+        long min = (countsB & takeB) | (countsA & ~takeB);
+        // 全レーンの和は最上位レーン（bit54〜59）に集まる
+        return (int) ((min * COUNT_LANE_ONES) >>> 54) & 0x3F;
+    }
+
+    /**
+     * 2つのコードの XOR から、値が0（＝同じ数字）のニブル数を数えます。
+     */
+    static int countEats(int diff, int digits) {
+        int nonZero = (diff | diff >>> 1 | diff >>> 2 | diff >>> 3) & 0x11111111;
+        if (digits < MAX_DIGITS) nonZero &= (1 << (digits * 4)) - 1;
+        return digits - Integer.bitCount(nonZero);
+    }
+
+    /**
+     * EAT数とBITE数を1つの int にまとめます（上位: EAT、下位4bit: BITE）。
+     */
+    public static int response(int eats, int bites) {
+        return (eats << 4) | bites;
+    }
+
+    /**
+     * 判定結果から EAT 数を取り出します。
+     */
+    public static int eatsOf(int response) {
+        return response >>> 4;
+    }
+
+    /**
+     * 判定結果から BITE 数を取り出します。
+     */
+    public static int bitesOf(int response) {
+        return response & 0xF;
+    }
+
+    // --- 文字列との相互変換 ---
+
+    /**
+     * 数字列をコードに変換します（"0123" → 0x0123）。
+     */
+    public static int pack(String number) {
+        int code = 0;
+        for (int i = 0; i < number.length(); i++) {
+            code = (code << 4) | (number.charAt(i) - '0');
+        }
+        return code;
+    }
+
+    /**
+     * コードを数字列に戻します。
+     *
+     * @param code   コード
+     * @param digits 桁数（先頭の0を補うために使用）
+     */
+    public static String unpack(int code, int digits) {
+        char[] chars = new char[digits];
+        for (int i = digits - 1; i >= 0; i--) {
+            chars[i] = (char) ('0' + (code & 0xF));
+            code >>>= 4;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.hitblow.model;
+
+/**
+ * 区間和の更新と取得を O(log n) で行う Fenwick Tree（Binary Indexed Tree）。
+ * ランキングの順位計算（自分より良いスコアの件数）や、k番目のスコア探索に使用します。
+ * インデックスは 0 始まりで扱い、内部では 1 始まりの配列に変換しています。
+ */
+public class FenwickTree {
+    private final int[] tree; // 1始まりのBIT本体
+    private final int size;   // 扱うバケット数
+    private int total;        // 全要素の合計（件数）
+
+    /**
+     * 指定されたバケット数で空の木を生成します。
+     *
+     * @param size バケット数
+     */
+    public FenwickTree(int size) {
+        this.size = size;
+        this.tree = new int[size + 1];
+    }
+
+    /**
+     * 指定バケットの値に delta を加算します。
+     *
+     * @param index バケット番号（0始まり）
+     * @param delta 加算する値
+     */
+    public void add(int index, int delta) {
+        total += delta;
+        for (int i = index + 1; i <= size; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * バケット 0 〜 index までの合計を返します。index が負の場合は 0 を返します。
+     *
+     * @param index バケット番号（0始まり、この番号を含む）
+     * @return 区間の合計値
+     */
+    public int prefixSum(int index) {
+        int sum = 0;
+        for (int i = Math.min(index, size - 1) + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * 単一バケットの値を返します。
+     *
+     * @param index バケット番号（0始まり）
+     * @return バケットの値
+     */
+    public int get(int index) {
+        return prefixSum(index) - prefixSum(index - 1);
+    }
+
+    /**
+     * 累積和が k 以上になる最小のバケット番号を返します（k番目の要素の探索）。
+     *
+     * @param k 1始まりの順位
+     * @return バケット番号。k が範囲外の場合は -1
+     */
+    public int findKth(int k) {
+        if (k <= 0 || k > total) return -1;
+        int pos = 0;
+        for (int step = Integer.highestOneBit(size); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= size && tree[next] < k) {
+                pos = next;
+                k -= tree[next];
+            }
+        }
+        return pos; // 1始まりの pos + 1 を 0 始まりに戻した値
+    }
+
+    /**
+     * 全バケットの合計を返します。
+     */
+    public int total() {
+        return total;
+    }
+
+    /**
+     * バケット数を返します。
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,703 @@
+package com.example.hitblow.model;
+
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 終了したゲームの記録（GameRecord）をオフライン解析用に蓄積する列指向のアーカイブファイル。
+ *
+ * <p>ゲームは最大 {@link #ROW_GROUP_GAMES} 件ごとの「行グループ」にまとめ、行グループ内では
+ * 列（モード・正解・各ターンの推測など）ごとに連続して格納します。列ごとに値の性質に合わせて
+ * 可変長整数・差分・辞書のいずれかで符号化するため、同じ値や近い値が続く列は数バイトに収まります。
+ * 各列はバイト長付きのチャンクとして書き出すため、読み込み時は必要な列だけを展開し、
+ * 残りは読み飛ばせます（例: ターン数とクリア時間だけを集計する場合、推測の列は読みません）。</p>
+ *
+ * <pre>
+ * ファイル:   magic(int) version(byte) 行グループ*
+ * 行グループ: バイト長(int) [ゲーム数(int) ターン数(int) 列数(byte) チャンク*] バイト長(int)
+ * チャンク:   列ID(byte) 符号化方式(byte) バイト長(int) データ
+ * </pre>
+ *
+ * <p>追記は常にファイル末尾への行グループの追加のみで行い、保存済みのバイトを直接書き換えることはありません。
+ * 行グループの末尾にもバイト長を置くため、開くときは末尾から最後の行グループが完全かどうかを確かめられます。
+ * 書き込み途中で中断された末尾の行グループ（＝その追記分のみ）は、次に開いたときに切り捨てます。</p>
+ *
+ * <p>アプリからは1ゲームずつ追記するため、末尾には小さな行グループが溜まります。
+ * 小さな行グループが {@link #COMPACT_TAIL_GROUPS} 個、またはゲーム数の合計が {@link #ROW_GROUP_GAMES} 件に
+ * 達したら、{@link Writer#compactTail()} で末尾の小さな行グループだけをまとめ直します
+ * （満杯の行グループはそのまま残すため、まとめ直しの量はアーカイブ全体の大きさに依存しません）。
+ * 書き換える内容は先にジャーナルファイルへ書き出し、次に開いたときに再適用できるようにするため、
+ * 書き換えの途中で中断されても保存済みの記録は失われません。読み書きに必要なメモリは行グループ数個分です。</p>
+ *
+ * <p>モードごとの集計は app/src/tools の GameArchiveStats で行えます。</p>
+ */
+public final class GameArchive {
+    private static final String TAG = "HitBlow_GameArchive";
+    private static final int MAGIC = 0x48424741; // "HBGA"
+    private static final int VERSION = 2;  // 2: 行グループの末尾にもバイト長を置く
+    private static final int HEADER_BYTES = 5;  // magic(int) + version(byte)
+    private static final int GROUP_HEADER_BYTES = 9; // ゲーム数(int) + ターン数(int) + 列数(byte)
+    private static final int GROUP_FRAME_BYTES = 8;  // 先頭と末尾のバイト長(int × 2)
+
+    /** アプリのファイル領域に保存する際のファイル名 */
+    public static final String FILE_NAME = "game_archive.hbga";
+
+    /** 1つの行グループに格納するゲーム数 */
+    public static final int ROW_GROUP_GAMES = 128;
+
+    /** 末尾にこの数の小さな行グループが溜まったらまとめ直す */
+    public static final int COMPACT_TAIL_GROUPS = 8;
+
+    static final int JOURNAL_MAGIC = 0x48424A4E; // "HBJN"
+
+    /** モード値のうち、重複ありルールを表すビット */
+    private static final int MODE_REPEATS = 0x100;
+
+    // 符号化方式
+    private static final int ENCODING_VARINT = 0;     // 0以上の値をそのまま可変長整数で格納
+    private static final int ENCODING_DELTA = 1;      // 直前の値との差分をジグザグ符号化した可変長整数で格納
+    private static final int ENCODING_DICTIONARY = 2; // 値の種類（辞書）と、各行の辞書インデックスを格納
+
+    /**
+     * アーカイブの列。ゲーム単位の列はゲーム数、ターン単位の列は全ゲームの合計ターン数だけ値を持ちます。
+     */
+    public enum Column {
+        MODE(0, false, ENCODING_DICTIONARY),       // 桁数とルール（{@link #modeOf(int, boolean)}）
+        SECRET(1, false, ENCODING_VARINT),         // 正解コード
+        STARTED_AT(2, false, ENCODING_DELTA),      // ゲーム開始時刻（ミリ秒）
+        TOTAL_MILLIS(3, false, ENCODING_VARINT),   // クリアまでの経過時間（ミリ秒）
+        TURNS(4, false, ENCODING_VARINT),          // ターン数
+        GUESS(5, true, ENCODING_VARINT),           // 推測コード
+        RESPONSE(6, true, ENCODING_DICTIONARY),    // 判定結果（CodeSpace#response形式）
+        TURN_MILLIS(7, true, ENCODING_DELTA);      // コール時刻（ゲーム開始からの経過ミリ秒）
+
+        final int id;
+        final boolean perTurn;
+        final int encoding;
+
+        Column(int id, boolean perTurn, int encoding) {
+            this.id = id;
+            this.perTurn = perTurn;
+            this.encoding = encoding;
+        }
+
+        static Column byId(int id) {
+            for (Column column : values()) {
+                if (column.id == id) return column;
+            }
+            return null; // 新しいバージョンで追加された列は読み飛ばす
+        }
+    }
+
+    private GameArchive() {
+    }
+
+    /**
+     * 桁数とルールを MODE 列の値に変換します。
+     */
+    public static int modeOf(int digits, boolean allowRepeats) {
+        return digits | (allowRepeats ? MODE_REPEATS : 0);
+    }
+
+    public static int digitsOfMode(int mode) {
+        return mode & 0xFF;
+    }
+
+    public static boolean isRepeatsMode(int mode) {
+        return (mode & MODE_REPEATS) != 0;
+    }
+
+    /**
+     * 1件の記録をアーカイブに追記します。失敗した場合はログに残し、ゲームの進行には影響させません。
+     * 末尾の小さな行グループが溜まっている場合は、追記後にまとめ直します。
+     * ファイルを開いてから閉じるまでを1回で行うため、ワーカースレッドから呼び出してください。
+     */
+    public static void appendQuietly(File file, GameRecord record) {
+        try (Writer writer = Writer.open(file)) {
+            writer.append(record);
+            writer.flush();
+            if (writer.isCompactionDue()) writer.compactTail();
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to export game: " + file, e);
+        }
+    }
+
+    // --- 書き込み ---
+
+    /**
+     * アーカイブの末尾に記録を追記するライター。記録は行グループ1つ分までメモリに保持し、
+     * 満杯になるか close() されたときに新しい行グループとしてファイル末尾に書き出します。
+     */
+    public static class Writer implements Closeable {
+        private final RandomAccessFile file;
+        private final File journal;
+        private final GameRecord[] pending = new GameRecord[ROW_GROUP_GAMES];
+        private int pendingCount = 0;
+        private long end;            // 完全な行グループの末尾（次の書き込み位置）
+        private long tailStart;      // 末尾に連続する満杯でない行グループの開始位置（なければ end）
+        private int smallTailGroups; // 末尾に連続する満杯でない行グループの数
+        private int smallTailGames;  // 末尾に連続する満杯でない行グループのゲーム数の合計
+
+        private Writer(RandomAccessFile file, File journal) {
+            this.file = file;
+            this.journal = journal;
+        }
+
+        /**
+         * アーカイブを追記用に開きます。ファイルが存在しない場合は新規に作成します。
+         */
+        public static Writer open(File path) throws IOException {
+            RandomAccessFile file = new RandomAccessFile(path, "rw");
+            Writer writer = new Writer(file, new File(path.getPath() + ".journal"));
+            try {
+                writer.replayJournal();
+                writer.locateTail(path);
+            } catch (IOException | RuntimeException e) {
+                file.close();
+                throw e;
+            }
+            return writer;
+        }
+
+        /**
+         * 末尾の行グループが完全かを確かめ、末尾に連続する小さな行グループのゲーム数を数えます。
+         * 読むのは各行グループの前後のバイト長とゲーム数のみで、アーカイブ全体の大きさには依存しません。
+         */
+        private void locateTail(File path) throws IOException {
+            long length = file.length();
+            if (length < HEADER_BYTES) {
+                file.setLength(0);
+                file.writeInt(MAGIC);
+                file.writeByte(VERSION);
+                end = HEADER_BYTES;
+                tailStart = end;
+                return;
+            }
+            file.seek(0);
+            if (file.readInt() != MAGIC || file.readUnsignedByte() != VERSION) {
+                throw new IOException("Not a game archive: " + path);
+            }
+
+            end = groupStartBefore(length) >= 0 ? length : lastCompleteEnd(length);
+            if (end != length) {
+                Log.w(TAG, "Dropping incomplete row group at " + end + ": " + path);
+                file.setLength(end);
+            }
+
+            long position = end;
+            while (position > HEADER_BYTES) {
+                long start = groupStartBefore(position);
+                if (start < 0) break;
+                file.seek(start + 4);
+                int gameCount = file.readInt();
+                if (gameCount >= ROW_GROUP_GAMES) break;
+                smallTailGroups++;
+                smallTailGames += gameCount;
+                position = start;
+            }
+            tailStart = position;
+        }
+
+        /**
+         * 末尾のバイト長を手がかりに、position で終わる行グループの開始位置を返します。
+         * 前後のバイト長が一致しない（書き込み途中で中断された）場合は -1 を返します。
+         */
+        private long groupStartBefore(long position) throws IOException {
+            if (position - GROUP_FRAME_BYTES - GROUP_HEADER_BYTES < HEADER_BYTES) return -1;
+            file.seek(position - 4);
+            int bodyLength = file.readInt();
+            long start = position - GROUP_FRAME_BYTES - bodyLength;
+            if (bodyLength < GROUP_HEADER_BYTES || start < HEADER_BYTES) return -1;
+            file.seek(start);
+            return file.readInt() == bodyLength ? start : -1;
+        }
+
+        /**
+         * 末尾が壊れている場合のみ、先頭から行グループを辿って最後の完全な行グループの末尾を求めます。
+         */
+        private long lastCompleteEnd(long length) throws IOException {
+            long position = HEADER_BYTES;
+            while (position + GROUP_FRAME_BYTES <= length) {
+                file.seek(position);
+                int bodyLength = file.readInt();
+                long next = position + GROUP_FRAME_BYTES + bodyLength;
+                if (bodyLength < GROUP_HEADER_BYTES || next > length) break;
+                file.seek(next - 4);
+                if (file.readInt() != bodyLength) break;
+                position = next;
+            }
+            return position;
+        }
+
+        /**
+         * 記録を1件追加します。行グループが満杯になった時点でファイルに書き出します。
+         */
+        public void append(GameRecord record) throws IOException {
+            pending[pendingCount++] = record;
+            if (pendingCount == ROW_GROUP_GAMES) flush();
+        }
+
+        /**
+         * 保持中の記録を新しい行グループとしてファイル末尾に書き出します。
+         */
+        public void flush() throws IOException {
+            if (pendingCount == 0) return;
+            byte[] group = encodeRowGroup(pending, pendingCount);
+            file.seek(end);
+            file.write(group);
+            end += group.length;
+            if (pendingCount < ROW_GROUP_GAMES) {
+                smallTailGroups++;
+                smallTailGames += pendingCount;
+            } else {
+                tailStart = end;
+                smallTailGroups = 0;
+                smallTailGames = 0;
+            }
+            pendingCount = 0;
+            Arrays.fill(pending, null);
+        }
+
+        /**
+         * 末尾の小さな行グループが、まとめ直しが必要なだけ溜まっているかを返します。
+         */
+        public boolean isCompactionDue() {
+            return smallTailGroups >= COMPACT_TAIL_GROUPS || smallTailGames + pendingCount >= ROW_GROUP_GAMES;
+        }
+
+        /**
+         * 末尾に連続する小さな行グループだけを読み戻し、満杯の行グループと残り1つの行グループに詰め直します。
+         * 満杯の行グループには触れないため、コストは末尾の小さな行グループの大きさのみに比例します。
+         * 書き換える内容を先にジャーナルへ同期書き込みしてから上書きするため、
+         * 上書きの途中で中断されても次に開いたときに同じ内容で書き直されます。
+         */
+        public void compactTail() throws IOException {
+            flush();
+            if (smallTailGroups <= 1) return;
+
+            byte[] tail = new byte[(int) (end - tailStart)];
+            file.seek(tailStart);
+            file.readFully(tail);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(tail));
+            ByteArrayOutputStream rewritten = new ByteArrayOutputStream(tail.length);
+            GameRecord[] buffer = new GameRecord[ROW_GROUP_GAMES];
+            int bufferCount = 0;
+            int lastGameCount = 0;
+            byte[] body;
+            while ((body = readGroupBody(in)) != null) {
+                DataInputStream group = new DataInputStream(new ByteArrayInputStream(body));
+                for (GameRecord record : readRowGroup(group, EnumSet.allOf(Column.class)).toRecords()) {
+                    buffer[bufferCount++] = record;
+                    if (bufferCount == ROW_GROUP_GAMES) {
+                        rewritten.write(encodeRowGroup(buffer, bufferCount));
+                        bufferCount = 0;
+                    }
+                }
+            }
+            if (bufferCount > 0) {
+                rewritten.write(encodeRowGroup(buffer, bufferCount));
+                lastGameCount = bufferCount;
+            }
+            byte[] replacement = rewritten.toByteArray();
+
+            writeJournal(tailStart, replacement);
+            applyTail(tailStart, replacement);
+            if (!journal.delete()) throw new IOException("Failed to delete journal: " + journal);
+
+            end = tailStart + replacement.length;
+            smallTailGroups = lastGameCount > 0 ? 1 : 0;
+            smallTailGames = lastGameCount;
+            tailStart = lastGameCount > 0 ? end - lastGroupLength(replacement) : end;
+        }
+
+        /**
+         * 書き換え内容の最後の行グループのバイト長（前後のバイト長を含む）を返します。
+         */
+        private int lastGroupLength(byte[] groups) {
+            int n = groups.length;
+            int bodyLength = ((groups[n - 4] & 0xFF) << 24) | ((groups[n - 3] & 0xFF) << 16)
+                    | ((groups[n - 2] & 0xFF) << 8) | (groups[n - 1] & 0xFF);
+            return bodyLength + GROUP_FRAME_BYTES;
+        }
+
+        /**
+         * 書き換え位置と内容をジャーナルに書き、ディスクへ同期します。
+         * ジャーナル: magic(int) 位置(long) バイト長(int) 内容 バイト長(int)
+         */
+        private void writeJournal(long position, byte[] replacement) throws IOException {
+            try (FileOutputStream stream = new FileOutputStream(journal)) {
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+                out.writeInt(JOURNAL_MAGIC);
+                out.writeLong(position);
+                out.writeInt(replacement.length);
+                out.write(replacement);
+                out.writeInt(replacement.length);
+                out.flush();
+                stream.getFD().sync();
+            }
+        }
+
+        /**
+         * 指定位置以降を書き換え内容で置き換え、ディスクへ同期します（何度実行しても同じ結果になります）。
+         */
+        private void applyTail(long position, byte[] replacement) throws IOException {
+            file.seek(position);
+            file.write(replacement);
+            file.setLength(position + replacement.length);
+            file.getFD().sync();
+        }
+
+        /**
+         * 前回のまとめ直しが中断されていた場合に、ジャーナルの内容で書き換えをやり直します。
+         * ジャーナル自体が書き込み途中で中断されていた場合は、アーカイブに手を付けていないため破棄します。
+         */
+        private void replayJournal() throws IOException {
+            if (!journal.exists()) return;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(journal)))) {
+                if (in.readInt() == JOURNAL_MAGIC) {
+                    long position = in.readLong();
+                    int length = in.readInt();
+                    byte[] replacement = new byte[length];
+                    in.readFully(replacement);
+                    if (in.readInt() == length && position >= HEADER_BYTES && position <= file.length()) {
+                        Log.w(TAG, "Replaying interrupted compaction at " + position);
+                        applyTail(position, replacement);
+                    }
+                }
+            } catch (EOFException e) {
+                Log.w(TAG, "Discarding incomplete journal: " + journal);
+            }
+            if (!journal.delete()) throw new IOException("Failed to delete journal: " + journal);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                file.close();
+            }
+        }
+    }
+
+    /**
+     * 行グループ1つ分の本体（前後のバイト長を除く）を読み込みます。
+     *
+     * @return 本体。末尾に達した場合、または末尾の行グループが不完全な場合は null
+     */
+    private static byte[] readGroupBody(DataInputStream in) throws IOException {
+        try {
+            int bodyLength = in.readInt();
+            if (bodyLength < GROUP_HEADER_BYTES) throw new IOException("Corrupt row group");
+            byte[] body = new byte[bodyLength];
+            in.readFully(body);
+            if (in.readInt() != bodyLength) throw new IOException("Corrupt row group");
+            return body;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private static void writeGroupBody(DataOutputStream out, byte[] body) throws IOException {
+        out.writeInt(body.length);
+        out.write(body);
+        out.writeInt(body.length);
+    }
+
+    /**
+     * 記録を列ごとに並べ替えて符号化し、前後にバイト長を付けた行グループを返します。
+     */
+    static byte[] encodeRowGroup(GameRecord[] games, int gameCount) throws IOException {
+        int turnCount = 0;
+        for (int g = 0; g < gameCount; g++) turnCount += games[g].size();
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        out.writeInt(gameCount);
+        out.writeInt(turnCount);
+        out.writeByte(Column.values().length);
+        for (Column column : Column.values()) {
+            long[] values = columnValues(column, games, gameCount, turnCount);
+            byte[] chunk = encode(column.encoding, values);
+            out.writeByte(column.id);
+            out.writeByte(column.encoding);
+            out.writeInt(chunk.length);
+            out.write(chunk);
+        }
+        out.flush();
+
+        ByteArrayOutputStream group = new ByteArrayOutputStream(body.size() + GROUP_FRAME_BYTES);
+        writeGroupBody(new DataOutputStream(group), body.toByteArray());
+        return group.toByteArray();
+    }
+
+    private static long[] columnValues(Column column, GameRecord[] games, int gameCount, int turnCount) {
+        long[] values = new long[column.perTurn ? turnCount : gameCount];
+        int row = 0;
+        for (int g = 0; g < gameCount; g++) {
+            GameRecord game = games[g];
+            switch (column) {
+                case MODE:
+                    values[row++] = modeOf(game.digits, game.allowRepeats);
+                    break;
+                case SECRET:
+                    values[row++] = game.secret & 0xFFFFFFFFL;
+                    break;
+                case STARTED_AT:
+                    values[row++] = game.startedAtMillis;
+                    break;
+                case TOTAL_MILLIS:
+                    values[row++] = game.totalMillis;
+                    break;
+                case TURNS:
+                    values[row++] = game.size();
+                    break;
+                case GUESS:
+                    for (int guess : game.guesses) values[row++] = guess & 0xFFFFFFFFL;
+                    break;
+                case RESPONSE:
+                    for (int response : game.responses) values[row++] = response;
+                    break;
+                case TURN_MILLIS:
+                    for (long millis : game.turnMillis) values[row++] = millis;
+                    break;
+            }
+        }
+        return values;
+    }
+
+    private static byte[] encode(int encoding, long[] values) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(values.length + 8);
+        switch (encoding) {
+            case ENCODING_VARINT:
+                for (long value : values) {
+                    if (value < 0) throw new IllegalArgumentException("Negative value: " + value);
+                    writeVarint(out, value);
+                }
+                break;
+            case ENCODING_DELTA:
+                long previous = 0;
+                for (long value : values) {
+                    writeVarint(out, zigZag(value - previous));
+                    previous = value;
+                }
+                break;
+            case ENCODING_DICTIONARY:
+                long[] dictionary = Arrays.stream(values).distinct().sorted().toArray();
+                writeVarint(out, dictionary.length);
+                for (long entry : dictionary) writeVarint(out, zigZag(entry));
+                for (long value : values) writeVarint(out, Arrays.binarySearch(dictionary, value));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown encoding: " + encoding);
+        }
+        return out.toByteArray();
+    }
+
+    // --- 読み込み ---
+
+    /**
+     * アーカイブを先頭から行グループ単位で読み込むリーダー。
+     * 指定された列だけを展開し、それ以外の列のチャンクは読み飛ばします。
+     */
+    public static class Reader implements Closeable {
+        private final DataInputStream in;
+        private final Set<Column> columns;
+
+        /**
+         * @param stream  アーカイブの入力ストリーム
+         * @param columns 展開する列
+         */
+        public Reader(InputStream stream, Set<Column> columns) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(stream));
+            this.columns = columns;
+            if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) {
+                throw new IOException("Not a game archive");
+            }
+        }
+
+        /**
+         * 次の行グループを読み込みます。
+         *
+         * @return 次の行グループ。すべて読み終えた場合（または末尾が書き込み途中の場合）は null
+         */
+        public RowGroup next() throws IOException {
+            try {
+                int bodyLength = in.readInt();
+                RowGroup group = readRowGroup(in, columns);
+                if (in.readInt() != bodyLength) throw new IOException("Corrupt row group");
+                return group;
+            } catch (EOFException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * バイト長の直後から行グループ1つを読み込みます。
+     */
+    private static RowGroup readRowGroup(DataInputStream in, Set<Column> columns) throws IOException {
+        int gameCount = in.readInt();
+        int turnCount = in.readInt();
+        int columnCount = in.readUnsignedByte();
+        RowGroup group = new RowGroup(gameCount, turnCount);
+        for (int c = 0; c < columnCount; c++) {
+            Column column = Column.byId(in.readUnsignedByte());
+            int encoding = in.readUnsignedByte();
+            int length = in.readInt();
+            if (column != null && columns.contains(column)) {
+                byte[] chunk = new byte[length];
+                in.readFully(chunk);
+                group.values[column.ordinal()] =
+                        decode(encoding, chunk, column.perTurn ? turnCount : gameCount);
+            } else if (in.skipBytes(length) != length) {
+                throw new EOFException();
+            }
+        }
+        return group;
+    }
+
+    private static long[] decode(int encoding, byte[] chunk, int count) throws IOException {
+        long[] values = new long[count];
+        int[] position = {0};
+        switch (encoding) {
+            case ENCODING_VARINT:
+                for (int i = 0; i < count; i++) values[i] = readVarint(chunk, position);
+                break;
+            case ENCODING_DELTA:
+                long previous = 0;
+                for (int i = 0; i < count; i++) {
+                    previous += unZigZag(readVarint(chunk, position));
+                    values[i] = previous;
+                }
+                break;
+            case ENCODING_DICTIONARY:
+                long[] dictionary = new long[(int) readVarint(chunk, position)];
+                for (int d = 0; d < dictionary.length; d++) dictionary[d] = unZigZag(readVarint(chunk, position));
+                for (int i = 0; i < count; i++) values[i] = dictionary[(int) readVarint(chunk, position)];
+                break;
+            default:
+                throw new IOException("Unknown encoding: " + encoding);
+        }
+        return values;
+    }
+
+    /**
+     * 読み込んだ行グループ。展開した列の値を、ゲーム順（ターン単位の列はゲーム順・ターン順）で保持します。
+     */
+    public static class RowGroup {
+        private final int gameCount;
+        private final int turnCount;
+        private final long[][] values = new long[Column.values().length][];
+
+        RowGroup(int gameCount, int turnCount) {
+            this.gameCount = gameCount;
+            this.turnCount = turnCount;
+        }
+
+        public int getGameCount() {
+            return gameCount;
+        }
+
+        /**
+         * 行グループ内の全ゲームの合計ターン数を返します。
+         */
+        public int getTurnCount() {
+            return turnCount;
+        }
+
+        /**
+         * 列の値を返します（コピーなし）。
+         *
+         * @throws IllegalStateException Reader で展開を指定していない列の場合
+         */
+        public long[] column(Column column) {
+            long[] columnValues = values[column.ordinal()];
+            if (columnValues == null) throw new IllegalStateException("Column not loaded: " + column);
+            return columnValues;
+        }
+
+        /**
+         * 行グループを GameRecord に戻します（全列を展開している必要があります）。
+         */
+        public GameRecord[] toRecords() {
+            long[] modes = column(Column.MODE);
+            long[] secrets = column(Column.SECRET);
+            long[] startedAt = column(Column.STARTED_AT);
+            long[] totalMillis = column(Column.TOTAL_MILLIS);
+            long[] turns = column(Column.TURNS);
+            long[] guesses = column(Column.GUESS);
+            long[] responses = column(Column.RESPONSE);
+            long[] turnMillis = column(Column.TURN_MILLIS);
+
+            GameRecord[] records = new GameRecord[gameCount];
+            int turn = 0;
+            for (int g = 0; g < gameCount; g++) {
+                int size = (int) turns[g];
+                int[] gameGuesses = new int[size];
+                int[] gameResponses = new int[size];
+                long[] gameTurnMillis = new long[size];
+                for (int t = 0; t < size; t++, turn++) {
+                    gameGuesses[t] = (int) guesses[turn];
+                    gameResponses[t] = (int) responses[turn];
+                    gameTurnMillis[t] = turnMillis[turn];
+                }
+                int mode = (int) modes[g];
+                records[g] = new GameRecord(digitsOfMode(mode), isRepeatsMode(mode), (int) secrets[g],
+                        startedAt[g], totalMillis[g], gameGuesses, gameResponses, gameTurnMillis);
+            }
+            return records;
+        }
+    }
+
+    // --- 可変長整数 ---
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(byte[] buffer, int[] position) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= buffer.length) throw new EOFException();
+            int b = buffer[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
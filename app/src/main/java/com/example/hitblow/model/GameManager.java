@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 /**
@@ -17,11 +18,12 @@ public class GameManager {
     private static GameManager instance;
     private String cpuNumber;      // CPUが生成した正解の数字列
     private int numberOfDigits;    // ゲームで設定された桁数（3桁〜5桁など）
+    private boolean allowRepeats;  // 同じ数字の重複を許すルール（マスターマインド方式）か
     private int currentTurn;       // 現在のターン数
 
     /**
      * 1回ごとのコール（回答）結果を保持するデータクラス。
-     * 履歴表示用のリストで使用します。
+     * 履歴そのものは HistoryStore に詰めて保持し、このクラスはUI表示などで必要になった時のみ生成されます。
      */
     public static class HistoryEntry {
         public final int turn;      // ターン番号
@@ -37,15 +39,20 @@ public class GameManager {
         }
     }
 
-    // 過去の回答履歴を保持するリスト
-    private List<HistoryEntry> history;
+    // 過去の回答履歴（1ターン1要素の long 配列に詰めて保持）
+    private final HistoryStore history;
+
+    private final Random random = new Random();
+
+    // マルチボードモードのゲーム状態（通常モードとは独立して保持）
+    private MultiBoardGame multiBoardGame;
 
     /**
      * コンストラクタ。
      * シングルトンパターンのため外部からのインスタンス化を禁止しています。
      */
     private GameManager() {
-        history = new ArrayList<>();
+        history = new HistoryStore();
     }
 
     /**
@@ -68,13 +75,60 @@ public class GameManager {
      * @param digits プレイヤーが選択した桁数（3, 4, 5など）
      */
     public void setupGame(int digits) {
+        setupGame(digits, false);
+    }
+
+    /**
+     * ルールを指定してゲームの初期セットアップを行います。
+     *
+     * @param digits       プレイヤーが選択した桁数（3, 4, 5など）
+     * @param allowRepeats true の場合、正解・回答ともに同じ数字の重複を許します
+     */
+    public void setupGame(int digits, boolean allowRepeats) {
         this.numberOfDigits = digits;
-        this.cpuNumber = generateCpuNumber(digits); // 指定された桁数で正解を生成
+        this.allowRepeats = allowRepeats;
+        this.cpuNumber = generateCpuNumber(digits, allowRepeats); // 指定された桁数・ルールで正解を生成
         this.currentTurn = 0;
-        this.history.clear();
+        this.history.clear(digits);
         Log.d("HitBlow_GameManager", "CPU Number (Answer): " + cpuNumber);
     }
 
+    /**
+     * マルチボードモードのゲームをセットアップします。盤面ごとに異なる正解を生成します。
+     *
+     * @param digits       桁数
+     * @param boardCount   同時に解く盤面の数（4面ならクアッドモード）
+     * @param allowRepeats true の場合、正解・回答ともに同じ数字の重複を許します
+     */
+    public void setupMultiBoardGame(int digits, int boardCount, boolean allowRepeats) {
+        this.multiBoardGame = new MultiBoardGame(digits, boardCount, allowRepeats, random);
+        for (int b = 0; b < boardCount; b++) {
+            Log.d("HitBlow_GameManager", "Board " + (b + 1) + " (Answer): " + multiBoardGame.getSecret(b));
+        }
+    }
+
+    /**
+     * マルチボードモードのゲーム状態を返します。セットアップ前は null です。
+     */
+    public MultiBoardGame getMultiBoardGame() {
+        return multiBoardGame;
+    }
+
+    /**
+     * マルチボードモードで、プレイヤーの入力を未正解の全盤面に対して判定します。
+     *
+     * @param playerGuess プレイヤーが入力した推測数字
+     * @return 判定結果の行が追加された盤面のビットマスク。入力が不正な場合は 0
+     */
+    public int processMultiBoardCall(String playerGuess) {
+        MultiBoardGame game = multiBoardGame;
+        if (game == null || game.isAllSolved()
+                || !isValidGuess(playerGuess, game.getDigits(), game.isRepeatsAllowed())) {
+            return 0;
+        }
+        return game.call(CodeSpace.pack(playerGuess));
+    }
+
     /**
      * 正解の数字（CPUナンバー）を返します。
      *
@@ -85,12 +139,21 @@ public class GameManager {
     }
 
     /**
-     * 0〜9の数字から重複のないランダムな数字列を生成します。
+     * 0〜9の数字からランダムな数字列を生成します。
      *
-     * @param digits 生成する桁数
+     * @param digits       生成する桁数
+     * @param allowRepeats true の場合は各桁を独立に選び、同じ数字の重複を許します
      * @return 生成された数字列
      */
-    private String generateCpuNumber(int digits) {
+    private String generateCpuNumber(int digits, boolean allowRepeats) {
+        if (allowRepeats) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < digits; i++) {
+                sb.append(random.nextInt(10));
+            }
+            return sb.toString();
+        }
+
         List<Integer> numbers = new ArrayList<>();
         for (int i = 0; i <= 9; i++) {
             numbers.add(i);
@@ -119,38 +182,36 @@ public class GameManager {
             return new int[]{-1, -1};
         }
 
-        int eats = 0;
-        int bites = 0;
-
-        for (int i = 0; i < numberOfDigits; i++) {
-            char guessChar = playerGuess.charAt(i);
-            char cpuChar = cpuNumber.charAt(i);
-
-            if (guessChar == cpuChar) {
-                // 数字も位置も一致している場合
-                eats++;
-            } else if (cpuNumber.contains(String.valueOf(guessChar))) {
-                // 数字は正解の中に含まれているが、位置が違う場合
-                bites++;
-            }
-        }
+        // 判定規則はソルバー等と共通の CodeSpace に集約
+        // EAT: 数字も位置も一致 / BITE: 数字は正解の中に含まれているが、位置が違う
+        // （重複ありルールでは、数字ごとに正解・回答の出現数の小さい方までを一致とみなす）
+        int guessCode = CodeSpace.pack(playerGuess);
+        int response = CodeSpace.judge(CodeSpace.pack(cpuNumber), guessCode, numberOfDigits);
+        int eats = CodeSpace.eatsOf(response);
+        int bites = CodeSpace.bitesOf(response);
 
         // 判定結果を履歴に記録
         this.currentTurn++;
-        history.add(new HistoryEntry(currentTurn, playerGuess, eats, bites));
+        history.add(currentTurn, guessCode, eats, bites, System.currentTimeMillis());
 
         return new int[]{eats, bites};
     }
 
     /**
      * プレイヤーの入力がゲームのルール（桁数の一致、数字の重複なし）に適合しているか検証します。
+     * 重複ありルールでは数字の重複チェックを行いません。
      *
      * @param guess プレイヤーの入力内容
      * @return 有効な入力であればtrue
      */
     private boolean isValidGuess(String guess) {
+        return isValidGuess(guess, numberOfDigits, allowRepeats);
+    }
+
+    private static boolean isValidGuess(String guess, int numberOfDigits, boolean allowRepeats) {
         // 桁数チェック
         if (guess.length() != numberOfDigits) return false;
+        if (allowRepeats) return true;
 
         // 重複チェック（Setの特性を利用）
         Set<Character> uniqueDigits = new HashSet<>();
@@ -176,6 +237,13 @@ public class GameManager {
         return numberOfDigits;
     }
 
+    /**
+     * 同じ数字の重複を許すルールかどうかを取得します。
+     */
+    public boolean isRepeatsAllowed() {
+        return allowRepeats;
+    }
+
     /**
      * 現在の経過ターン数を取得します。
      */
@@ -184,9 +252,18 @@ public class GameManager {
     }
 
     /**
-     * これまでの全回答履歴を取得します。
+     * これまでの全回答履歴を HistoryEntry の読み取り専用リストとして取得します。
+     * 各要素は参照された時点で生成されます（UI表示用）。
      */
     public List<HistoryEntry> getHistory() {
+        return history.asEntryList();
+    }
+
+    /**
+     * これまでの全回答履歴を、詰め込み形式のまま参照します（コピーなし・読み取り専用）。
+     * 解析やシミュレーションなど、大量の履歴を走査する処理ではこちらを使用します。
+     */
+    public HistoryStore getHistoryStore() {
         return history;
     }
 
@@ -197,6 +274,6 @@ public class GameManager {
      */
     public HistoryEntry getLastHistoryEntry() {
         if (history.isEmpty()) return null;
-        return history.get(history.size() - 1);
+        return history.asEntryList().get(history.size() - 1);
     }
 }
\ No newline at end of file
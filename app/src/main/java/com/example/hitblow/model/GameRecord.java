@@ -0,0 +1,64 @@
+package com.example.hitblow.model;
+
+/**
+ * 終了した1ゲーム分の記録（モード・正解・各ターンの推測と判定結果・コール時刻・クリア時間）。
+ * GameArchive への書き出し用に、GameManager の状態から切り離したスナップショットとして保持します。
+ * 次のゲームの setupGame で履歴がリセットされても、この記録は影響を受けません。
+ */
+public class GameRecord {
+    public final int digits;
+    public final boolean allowRepeats;
+    public final int secret;          // 正解コード（CodeSpace形式）
+    public final long startedAtMillis; // ゲーム開始（タイマー開始）時刻
+    public final long totalMillis;     // クリアまでの経過時間
+    public final int[] guesses;        // 各ターンの推測コード
+    public final int[] responses;      // 各ターンの判定結果（CodeSpace#response形式）
+    public final long[] turnMillis;    // 各ターンのコール時刻（ゲーム開始からの経過ミリ秒）
+
+    public GameRecord(int digits, boolean allowRepeats, int secret, long startedAtMillis, long totalMillis,
+                      int[] guesses, int[] responses, long[] turnMillis) {
+        if (guesses.length != responses.length || guesses.length != turnMillis.length) {
+            throw new IllegalArgumentException("Turn columns must have the same length");
+        }
+        this.digits = digits;
+        this.allowRepeats = allowRepeats;
+        this.secret = secret;
+        this.startedAtMillis = startedAtMillis;
+        this.totalMillis = totalMillis;
+        this.guesses = guesses;
+        this.responses = responses;
+        this.turnMillis = turnMillis;
+    }
+
+    /**
+     * GameManager が保持している現在のゲームから記録を作成します（UIスレッドで呼び出します）。
+     *
+     * @param gameManager     終了したゲームを保持している GameManager
+     * @param startedAtMillis タイマー開始時刻
+     * @param totalMillis     クリアまでの経過時間
+     */
+    public static GameRecord fromGame(GameManager gameManager, long startedAtMillis, long totalMillis) {
+        HistoryStore history = gameManager.getHistoryStore();
+        int turns = history.size();
+        int[] guesses = new int[turns];
+        int[] responses = new int[turns];
+        long[] turnMillis = new long[turns];
+        HistoryStore.Cursor cursor = history.cursor();
+        while (cursor.moveToNext()) {
+            int i = cursor.position();
+            guesses[i] = cursor.guessCode();
+            responses[i] = CodeSpace.response(cursor.eats(), cursor.bites());
+            turnMillis[i] = Math.max(0L, cursor.timestamp() - startedAtMillis);
+        }
+        return new GameRecord(gameManager.getNumberOfDigits(), gameManager.isRepeatsAllowed(),
+                CodeSpace.pack(gameManager.getCpuNumber()), startedAtMillis, totalMillis,
+                guesses, responses, turnMillis);
+    }
+
+    /**
+     * ターン数を返します。
+     */
+    public int size() {
+        return guesses.length;
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.hitblow.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 回答履歴を1ターン1要素の long 配列に詰めて保持するクラス。
+ * HistoryEntry オブジェクトを毎ターン生成する代わりに、推測コード・EAT・BITE・ターン番号を
+ * 1つの long にまとめて格納します（長いゲームやシミュレーションでもオブジェクトが増えません）。
+ *
+ * <pre>
+ *  bit 63-40: ターン番号 / bit 39-36: BITE / bit 35-32: EAT / bit 31-0: 推測コード（CodeSpace形式）
+ * </pre>
+ *
+ * コール時刻は解析用のエクスポートでのみ使うため、別の配列に並べて保持します。
+ * 外部には読み取り用のメソッドのみを公開し、追加・クリアは同じパッケージの GameManager からのみ行います。
+ * 読み取りは内部配列を直接参照するため、コピーは発生しません。
+ */
+public class HistoryStore {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] words = new long[INITIAL_CAPACITY];
+    private long[] timestamps = new long[INITIAL_CAPACITY]; // 各ターンのコール時刻（エクスポート用）
+    private int size = 0;
+    private int digits = 0;
+
+    // UI向けに生成した HistoryEntry のキャッシュ（必要になった行のみ生成）
+    private GameManager.HistoryEntry[] entryCache = new GameManager.HistoryEntry[INITIAL_CAPACITY];
+    private final List<GameManager.HistoryEntry> entryView = new EntryListView();
+
+    // --- 更新（GameManagerからのみ使用） ---
+
+    /**
+     * 履歴を空にし、新しいゲームの桁数を設定します。確保済みの配列は再利用します。
+     */
+    void clear(int digits) {
+        this.digits = digits;
+        this.size = 0;
+        Arrays.fill(entryCache, null);
+    }
+
+    /**
+     * 1ターン分の結果を追加します。
+     */
+    void add(int turn, int guessCode, int eats, int bites, long timestampMillis) {
+        if (size == words.length) {
+            words = Arrays.copyOf(words, size * 2);
+            timestamps = Arrays.copyOf(timestamps, size * 2);
+            entryCache = Arrays.copyOf(entryCache, size * 2);
+        }
+        timestamps[size] = timestampMillis;
+        words[size++] = pack(turn, guessCode, eats, bites);
+    }
+
+    // --- 読み取り ---
+
+    /**
+     * 記録されているターン数を返します。
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 履歴の桁数を返します。
+     */
+    public int getDigits() {
+        return digits;
+    }
+
+    /**
+     * 指定行の詰め込まれた値をそのまま返します。
+     */
+    public long wordAt(int index) {
+        checkIndex(index);
+        return words[index];
+    }
+
+    public int turnAt(int index) {
+        return turnOf(wordAt(index));
+    }
+
+    public int guessCodeAt(int index) {
+        return guessCodeOf(wordAt(index));
+    }
+
+    public int eatsAt(int index) {
+        return eatsOf(wordAt(index));
+    }
+
+    public int bitesAt(int index) {
+        return bitesOf(wordAt(index));
+    }
+
+    /**
+     * 指定行のコール時刻（System#currentTimeMillis 形式）を返します。
+     */
+    public long timestampAt(int index) {
+        checkIndex(index);
+        return timestamps[index];
+    }
+
+    /**
+     * 指定行の推測を数字列で返します（表示用）。
+     */
+    public String guessAt(int index) {
+        return CodeSpace.unpack(guessCodeAt(index), digits);
+    }
+
+    /**
+     * 要素ごとにオブジェクトを生成せずに履歴を先頭から走査するカーソルを返します。
+     * <pre>
+     * HistoryStore.Cursor c = store.cursor();
+     * while (c.moveToNext()) { c.guessCode(); c.eats(); ... }
+     * </pre>
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * 履歴を HistoryEntry のリストとして参照する読み取り専用ビューを返します。
+     * 各 HistoryEntry は get() で初めて参照されたときに生成され、以降はキャッシュされます。
+     */
+    public List<GameManager.HistoryEntry> asEntryList() {
+        return entryView;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+    }
+
+    /**
+     * 履歴を走査するカーソル。1つのインスタンスを moveToNext() で進めながら使い回します。
+     */
+    public class Cursor {
+        private int position = -1;
+        private long word;
+
+        public boolean moveToNext() {
+            if (position + 1 >= size) return false;
+            word = words[++position];
+            return true;
+        }
+
+        /**
+         * 先頭の手前に戻します。
+         */
+        public void reset() {
+            position = -1;
+        }
+
+        public int position() {
+            return position;
+        }
+
+        public int turn() {
+            return turnOf(word);
+        }
+
+        public int guessCode() {
+            return guessCodeOf(word);
+        }
+
+        public int eats() {
+            return eatsOf(word);
+        }
+
+        public int bites() {
+            return bitesOf(word);
+        }
+
+        public long timestamp() {
+            return timestamps[position];
+        }
+    }
+
+    /**
+     * HistoryEntry を遅延生成する読み取り専用リスト。
+     */
+    private class EntryListView extends AbstractList<GameManager.HistoryEntry> implements RandomAccess {
+        @Override
+        public GameManager.HistoryEntry get(int index) {
+            checkIndex(index);
+            GameManager.HistoryEntry entry = entryCache[index];
+            if (entry == null) {
+                long word = words[index];
+                entry = new GameManager.HistoryEntry(turnOf(word),
+                        CodeSpace.unpack(guessCodeOf(word), digits), eatsOf(word), bitesOf(word));
+                entryCache[index] = entry;
+            }
+            return entry;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    // --- 詰め込み形式の変換 ---
+
+    public static long pack(int turn, int guessCode, int eats, int bites) {
+        return ((long) turn << 40) | ((long) (bites & 0xF) << 36) | ((long) (eats & 0xF) << 32)
+                | (guessCode & 0xFFFFFFFFL);
+    }
+
+    public static int turnOf(long word) {
+        return (int) (word >>> 40);
+    }
+
+    public static int guessCodeOf(long word) {
+        return (int) word;
+    }
+
+    public static int eatsOf(long word) {
+        return (int) (word >>> 32) & 0xF;
+    }
+
+    public static int bitesOf(long word) {
+        return (int) (word >>> 36) & 0xF;
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.hitblow.model;
+
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * 桁数モード（および重複ありルール）ごとのローカルランキングを管理するクラス。
+ * 記録はターン数・クリア時間（秒）ごとのバケットに集計し、Fenwick Tree で保持します。
+ * これにより、記録件数に関わらず登録と順位の取得を O(log n) で行えます。
+ * 保存時は件数が0でないバケットのみを書き出すため、ファイルサイズも記録件数に依存しません。
+ */
+public class Leaderboard {
+    private static final String TAG = "HitBlow_Leaderboard";
+    private static final int FILE_MAGIC = 0x48424C42; // "HBLB"
+    private static final int FILE_VERSION = 1;
+
+    /**
+     * ランキングの評価軸。値が小さいほど上位になります。
+     * 上限を超える値は最後のバケットにまとめて集計します。
+     */
+    public enum Metric {
+        TURNS(256),  // ターン数（1手単位）
+        TIME(3600);  // クリア時間（1秒単位、60分以上は同一バケット）
+
+        private final int bucketCount;
+
+        Metric(int bucketCount) {
+            this.bucketCount = bucketCount;
+        }
+
+        /**
+         * 値をバケット番号に変換します。
+         */
+        int bucketOf(int value) {
+            return Math.max(0, Math.min(value, bucketCount - 1));
+        }
+    }
+
+    private final File file;
+    private final int digits;
+    private final boolean allowRepeats;
+    private final FenwickTree turns = new FenwickTree(Metric.TURNS.bucketCount);
+    private final FenwickTree times = new FenwickTree(Metric.TIME.bucketCount);
+
+    private Leaderboard(File file, int digits, boolean allowRepeats) {
+        this.file = file;
+        this.digits = digits;
+        this.allowRepeats = allowRepeats;
+    }
+
+    /**
+     * 保存先ディレクトリから指定モードのランキングを読み込みます。
+     * ファイルが存在しない、または破損している場合は空のランキングを返します。
+     *
+     * @param dir    保存先ディレクトリ（通常は Context#getFilesDir()）
+     * @param digits ゲームの桁数
+     * @return 読み込んだランキング
+     */
+    public static Leaderboard load(File dir, int digits) {
+        return load(dir, digits, false);
+    }
+
+    /**
+     * ルールを指定してランキングを読み込みます。重複ありルールは別のランキングとして集計します。
+     *
+     * @param dir          保存先ディレクトリ
+     * @param digits       ゲームの桁数
+     * @param allowRepeats 同じ数字の重複を許すルールか
+     * @return 読み込んだランキング
+     */
+    public static Leaderboard load(File dir, int digits, boolean allowRepeats) {
+        String name = "leaderboard_" + digits + (allowRepeats ? "r" : "") + ".bin";
+        Leaderboard board = new Leaderboard(new File(dir, name), digits, allowRepeats);
+        if (!board.file.exists()) return board;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(board.file)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                Log.w(TAG, "Unknown leaderboard format: " + board.file);
+                return board;
+            }
+            readBuckets(in, board.turns);
+            readBuckets(in, board.times);
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to load leaderboard: " + board.file, e);
+            return new Leaderboard(board.file, digits, allowRepeats);
+        }
+        return board;
+    }
+
+    /**
+     * クリア記録を1件登録し、ファイルへ保存します。
+     *
+     * @param turnCount     クリアまでのターン数
+     * @param elapsedMillis クリアまでの経過時間（ミリ秒）
+     */
+    public void record(int turnCount, long elapsedMillis) {
+        turns.add(Metric.TURNS.bucketOf(turnCount), 1);
+        times.add(Metric.TIME.bucketOf(toSeconds(elapsedMillis)), 1);
+        save();
+    }
+
+    /**
+     * 指定スコアの順位（1位始まり）を返します。同じスコアの記録は同順位として扱います。
+     *
+     * @param metric 評価軸
+     * @param value  スコア（ターン数または秒数）
+     * @return 順位
+     */
+    public int rankOf(Metric metric, int value) {
+        return treeOf(metric).prefixSum(metric.bucketOf(value) - 1) + 1;
+    }
+
+    /**
+     * 指定スコアが上位何パーセントに位置するかを返します。
+     *
+     * @param metric 評価軸
+     * @param value  スコア
+     * @return 上位パーセンテージ（0〜100）。記録がない場合は 100
+     */
+    public double topPercentOf(Metric metric, int value) {
+        int count = size();
+        if (count == 0) return 100.0;
+        return 100.0 * rankOf(metric, value) / count;
+    }
+
+    /**
+     * 指定評価軸での自己ベストを返します。
+     *
+     * @return ベストスコア。記録がない場合は -1
+     */
+    public int bestOf(Metric metric) {
+        return treeOf(metric).findKth(1);
+    }
+
+    /**
+     * 上位から offset 番目以降、最大 limit 件のスコアを返します。
+     * 全記録を展開せず、Fenwick Tree 上の探索でページ分だけを取り出します。
+     *
+     * @param metric 評価軸
+     * @param offset 先頭からの読み飛ばし件数
+     * @param limit  取得する最大件数
+     * @return スコアの配列（昇順）
+     */
+    public int[] topPage(Metric metric, int offset, int limit) {
+        FenwickTree tree = treeOf(metric);
+        int count = Math.max(0, Math.min(limit, tree.total() - offset));
+        int[] page = new int[count];
+        if (count == 0) return page;
+
+        int bucket = tree.findKth(offset + 1);
+        int remainingInBucket = tree.prefixSum(bucket) - offset;
+        for (int i = 0; i < count; i++) {
+            while (remainingInBucket == 0) {
+                bucket++;
+                remainingInBucket = tree.get(bucket);
+            }
+            page[i] = bucket;
+            remainingInBucket--;
+        }
+        return page;
+    }
+
+    /**
+     * 登録済みの記録件数を返します。
+     */
+    public int size() {
+        return turns.total();
+    }
+
+    /**
+     * このランキングの対象桁数を返します。
+     */
+    public int getDigits() {
+        return digits;
+    }
+
+    /**
+     * 重複ありルールのランキングかどうかを返します。
+     */
+    public boolean isRepeatsAllowed() {
+        return allowRepeats;
+    }
+
+    /**
+     * ミリ秒を秒に変換します（ランキングは秒単位で集計）。
+     */
+    public static int toSeconds(long elapsedMillis) {
+        return (int) Math.min(Integer.MAX_VALUE, elapsedMillis / 1000L);
+    }
+
+    private FenwickTree treeOf(Metric metric) {
+        return metric == Metric.TURNS ? turns : times;
+    }
+
+    /**
+     * 一時ファイルに書き出してから置き換えることで、書き込み途中の破損を防ぎます。
+     */
+    private void save() {
+        File tmp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            writeBuckets(out, turns);
+            writeBuckets(out, times);
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to save leaderboard: " + file, e);
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            Log.w(TAG, "Failed to replace leaderboard file: " + file);
+        }
+    }
+
+    /**
+     * 件数が0でないバケットのみを (バケット番号, 件数) の組で書き出します。
+     */
+    private static void writeBuckets(DataOutputStream out, FenwickTree tree) throws IOException {
+        int nonEmpty = 0;
+        for (int i = 0; i < tree.size(); i++) {
+            if (tree.get(i) != 0) nonEmpty++;
+        }
+        out.writeShort(nonEmpty);
+        for (int i = 0; i < tree.size(); i++) {
+            int count = tree.get(i);
+            if (count != 0) {
+                out.writeShort(i);
+                out.writeInt(count);
+            }
+        }
+    }
+
+    private static void readBuckets(DataInputStream in, FenwickTree tree) throws IOException {
+        int nonEmpty = in.readUnsignedShort();
+        for (int i = 0; i < nonEmpty; i++) {
+            int bucket = in.readUnsignedShort();
+            int count = in.readInt();
+            if (bucket < tree.size()) tree.add(bucket, count);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.hitblow.model;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 複数の正解（盤面）に対して、1回のコールを同時に判定するマルチボードモードのゲーム状態。
+ * すべての盤面を正解するまでゲームが続きます（4面なら「クアッド」モード）。
+ *
+ * <p>盤面ごとにオブジェクトを持たず、正解コード・数字の出現数・正解したターンを
+ * 盤面数ぶんの配列（Structure of Arrays）で保持します。判定は推測の出現数を1回だけ求め、
+ * 全盤面を分岐のない1つのループで処理するため、盤面数が増えても判定コストはほぼ一定です。</p>
+ *
+ * <p>履歴は盤面ごとに分けず、ターンごとに「推測コード1つ + 全盤面の判定結果」を共有の配列に記録します。
+ * 正解済みの盤面は以降の行を表示しないため、盤面 b の行数は正解したターン数（未正解なら現在のターン数）です。</p>
+ */
+public class MultiBoardGame {
+    /** 変更のあった盤面をビットマスクで返すため、盤面数は int のビット数までとします */
+    public static final int MAX_BOARDS = 32;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int digits;
+    private final boolean allowRepeats;
+    private final int boardCount;
+
+    // 盤面ごとの状態（Structure of Arrays）
+    private final int[] secrets;       // 正解コード（CodeSpace形式）
+    private final long[] secretCounts; // 正解に含まれる数字の出現数（CodeSpace#digitCounts形式）
+    private final int[] solvedTurns;   // 正解したターン番号（0は未正解）
+
+    // ターンごとの共有履歴
+    private int[] guesses = new int[INITIAL_CAPACITY]; // 推測コード
+    private byte[] responses;                          // [ターン × 盤面数 + 盤面] の判定結果
+    private int turnCount = 0;
+    private int solvedMask = 0;
+
+    /**
+     * ランダムな正解を持つ盤面を指定数だけ用意します。各盤面の正解は互いに異なります。
+     *
+     * @param digits       桁数
+     * @param boardCount   盤面数（1〜32）
+     * @param allowRepeats 同じ数字の重複を許すルールか
+     * @param random       正解の生成に使う乱数
+     */
+    public MultiBoardGame(int digits, int boardCount, boolean allowRepeats, Random random) {
+        if (boardCount < 1 || boardCount > MAX_BOARDS) {
+            throw new IllegalArgumentException("boardCount must be 1.." + MAX_BOARDS + ": " + boardCount);
+        }
+        CodeSpace space = new CodeSpace(digits, allowRepeats);
+        if (boardCount > space.size()) {
+            throw new IllegalArgumentException("Not enough codes for " + boardCount + " boards");
+        }
+        this.digits = digits;
+        this.allowRepeats = allowRepeats;
+        this.boardCount = boardCount;
+        this.secrets = new int[boardCount];
+        this.secretCounts = new long[boardCount];
+        this.solvedTurns = new int[boardCount];
+        this.responses = new byte[INITIAL_CAPACITY * boardCount];
+
+        for (int b = 0; b < boardCount; b++) {
+            int secret;
+            do {
+                secret = space.codeAt(random.nextInt(space.size()));
+            } while (indexOfSecret(secret, b) >= 0);
+            secrets[b] = secret;
+            secretCounts[b] = CodeSpace.digitCounts(secret, digits);
+        }
+    }
+
+    private int indexOfSecret(int secret, int limit) {
+        for (int b = 0; b < limit; b++) {
+            if (secrets[b] == secret) return b;
+        }
+        return -1;
+    }
+
+    /**
+     * 推測を全盤面に対して判定し、共有履歴に1ターン分を記録します。
+     *
+     * @param guessCode 推測コード（CodeSpace形式、入力チェック済みであること）
+     * @return このターンに新しい行が追加された盤面（呼び出し前に未正解だった盤面）のビットマスク
+     */
+    public int call(int guessCode) {
+        if (turnCount == guesses.length) {
+            guesses = Arrays.copyOf(guesses, turnCount * 2);
+            responses = Arrays.copyOf(responses, turnCount * 2 * boardCount);
+        }
+        int row = turnCount * boardCount;
+        long guessCounts = CodeSpace.digitCounts(guessCode, digits);
+
+        // 全盤面を分岐なしで判定（正解済みの盤面も計算し、結果は表示しない）
+        for (int b = 0; b < boardCount; b++) {
+            int eats = CodeSpace.countEats(secrets[b] ^ guessCode, digits);
+            int common = CodeSpace.commonDigitCount(secretCounts[b], guessCounts);
+            responses[row + b] = (byte) CodeSpace.response(eats, common - eats);
+        }
+
+        guesses[turnCount++] = guessCode;
+        int changed = ~solvedMask & allBoardsMask();
+        for (int b = 0; b < boardCount; b++) {
+            if ((changed & (1 << b)) != 0 && guessCode == secrets[b]) {
+                solvedTurns[b] = turnCount;
+                solvedMask |= 1 << b;
+            }
+        }
+        return changed;
+    }
+
+    private int allBoardsMask() {
+        return boardCount == Integer.SIZE ? -1 : (1 << boardCount) - 1;
+    }
+
+    // --- 読み取り ---
+
+    public int getDigits() {
+        return digits;
+    }
+
+    public boolean isRepeatsAllowed() {
+        return allowRepeats;
+    }
+
+    public int getBoardCount() {
+        return boardCount;
+    }
+
+    /**
+     * これまでのコール回数を返します。
+     */
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    /**
+     * 正解済みの盤面のビットマスクを返します。
+     */
+    public int getSolvedMask() {
+        return solvedMask;
+    }
+
+    public boolean isSolved(int board) {
+        return (solvedMask & (1 << board)) != 0;
+    }
+
+    /**
+     * すべての盤面を正解したかどうかを返します。
+     */
+    public boolean isAllSolved() {
+        return solvedMask == allBoardsMask();
+    }
+
+    /**
+     * 盤面を正解したターン番号を返します（未正解なら0）。
+     */
+    public int getSolvedTurn(int board) {
+        return solvedTurns[board];
+    }
+
+    /**
+     * 盤面の正解を数字列で返します（公開表示用）。
+     */
+    public String getSecret(int board) {
+        return CodeSpace.unpack(secrets[board], digits);
+    }
+
+    /**
+     * 盤面に表示する履歴の行数を返します（正解したターンまで）。
+     */
+    public int rowCount(int board) {
+        return solvedTurns[board] != 0 ? solvedTurns[board] : turnCount;
+    }
+
+    /**
+     * 指定ターン（0始まり）の推測コードを返します。
+     */
+    public int guessCodeAt(int turnIndex) {
+        checkTurn(turnIndex);
+        return guesses[turnIndex];
+    }
+
+    /**
+     * 指定ターンの推測を数字列で返します（表示用）。
+     */
+    public String guessAt(int turnIndex) {
+        return CodeSpace.unpack(guessCodeAt(turnIndex), digits);
+    }
+
+    /**
+     * 指定ターン・盤面の判定結果を {@link CodeSpace#response(int, int)} 形式で返します。
+     */
+    public int responseAt(int turnIndex, int board) {
+        checkTurn(turnIndex);
+        return responses[turnIndex * boardCount + board] & 0xFF;
+    }
+
+    private void checkTurn(int turnIndex) {
+        if (turnIndex < 0 || turnIndex >= turnCount) {
+            throw new IndexOutOfBoundsException("turn: " + turnIndex + ", size: " + turnCount);
+        }
+    }
+}
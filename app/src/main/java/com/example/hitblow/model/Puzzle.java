@@ -0,0 +1,41 @@
+package com.example.hitblow.model;
+
+/**
+ * 推理パズル1問分のデータ。
+ * 提示する推測とその判定結果（EAT/BITE）の組から、正解がただ1つに定まるように作られています。
+ * コードはすべて CodeSpace 形式（1桁4bit）です。
+ */
+public class Puzzle {
+    public final int digits;       // 桁数
+    public final int secret;       // 正解コード
+    public final int[] guesses;    // 提示する推測コード
+    public final int[] responses;  // 各推測の判定結果（CodeSpace#response 形式）
+
+    public Puzzle(int digits, int secret, int[] guesses, int[] responses) {
+        this.digits = digits;
+        this.secret = secret;
+        this.guesses = guesses;
+        this.responses = responses;
+    }
+
+    /**
+     * 提示する推測の数を返します。
+     */
+    public int size() {
+        return guesses.length;
+    }
+
+    /**
+     * 正解を数字列で返します。
+     */
+    public String getSecret() {
+        return CodeSpace.unpack(secret, digits);
+    }
+
+    /**
+     * 指定番号の推測を数字列で返します。
+     */
+    public String getGuess(int index) {
+        return CodeSpace.unpack(guesses[index], digits);
+    }
+}
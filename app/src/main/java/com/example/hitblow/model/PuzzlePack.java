@@ -0,0 +1,108 @@
+package com.example.hitblow.model;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 推理パズルをまとめて保存する「パズルパック」の形式と読み込みを扱うクラス。
+ * 生成ツール（PuzzleGenerator、書き出しは PuzzlePackWriter）で作成したファイルを、アプリは assets などから
+ * {@link Reader} で1問ずつ読み込むため、パック全体をメモリに展開する必要はありません。
+ * 生成ツールは app/src/tools に置き、アプリには読み込み側のみを含めます。
+ *
+ * <pre>
+ * ヘッダー: magic(int) version(byte) digits(byte) count(int)
+ * 各問題:   推測数(byte) 正解コード [推測コード 判定結果(byte)] × 推測数
+ * </pre>
+ * コードは桁数に応じた最小バイト数（4桁なら2バイト）で格納します。
+ */
+public final class PuzzlePack {
+    static final int MAGIC = 0x4842505A; // "HBPZ"
+    static final int VERSION = 1;
+
+    private PuzzlePack() {
+    }
+
+    /**
+     * パズルを1問ずつ読み込むリーダー。
+     */
+    public static class Reader implements Closeable {
+        private final DataInputStream in;
+        private final int digits;
+        private final int count;
+        private final int codeBytes;
+        private int read = 0;
+
+        public Reader(InputStream stream) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(stream));
+            if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) {
+                throw new IOException("Not a puzzle pack");
+            }
+            this.digits = in.readUnsignedByte();
+            this.count = in.readInt();
+            this.codeBytes = codeBytes(digits);
+        }
+
+        public int getDigits() {
+            return digits;
+        }
+
+        /**
+         * パック内の問題数を返します。
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * 次の問題を読み込みます。
+         *
+         * @return 次の問題。すべて読み終えた場合は null
+         */
+        public Puzzle next() throws IOException {
+            if (read >= count) return null;
+            int size = in.readUnsignedByte();
+            int secret = readCode();
+            int[] guesses = new int[size];
+            int[] responses = new int[size];
+            for (int i = 0; i < size; i++) {
+                guesses[i] = readCode();
+                responses[i] = in.readUnsignedByte();
+            }
+            read++;
+            return new Puzzle(digits, secret, guesses, responses);
+        }
+
+        /**
+         * 指定数の問題を読み飛ばします（続きから遊ぶ場合など）。
+         */
+        public void skip(int puzzles) throws IOException {
+            for (int p = 0; p < puzzles && read < count; p++) {
+                int size = in.readUnsignedByte();
+                int bytes = codeBytes + size * (codeBytes + 1);
+                if (in.skipBytes(bytes) != bytes) throw new EOFException();
+                read++;
+            }
+        }
+
+        private int readCode() throws IOException {
+            int code = 0;
+            for (int i = 0; i < codeBytes; i++) {
+                code = (code << 8) | in.readUnsignedByte();
+            }
+            return code;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    static int codeBytes(int digits) {
+        return (digits * 4 + 7) / 8;
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.hitblow.presenter;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.View;
+import android.widget.Button;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+/**
+ * 通常モードとマルチボードモードで共通の、キーパッド入力とタイマーの表示を扱うクラス。
+ * 入力途中の数字とタイマーの開始時刻は GameUiState に保持するため、画面回転後も引き継がれます。
+ * 各Presenterが1つずつ保持し、盤面の更新などモード固有の処理だけをPresenter側に残します。
+ */
+final class GameControls {
+
+    static final long MILLIS_IN_SECOND = 1000L;
+
+    // カラー定数（テーマに合わせた色指定）
+    static final int COLOR_PURPLE = 0xFF5E35B1;
+    static final int COLOR_GRAY = 0xFFAAAAAA;
+
+    private final GameUiState uiState;
+    private final int digits;            // 入力する桁数
+    private final boolean allowRepeats;  // 同じ数字の重複を許すルールか
+
+    // UIコンポーネントの参照
+    private final TextView numberInputDisplay;
+    private final TextView timerText;
+    private final LinearLayout inputKeypadContainer;
+    private final Button callButton;
+    private final Button deleteButton;
+    private final View spacerForDelete;
+    private final Button[] numberKeys;
+    private final ColorStateList keypadTint;
+
+    private final StringBuilder currentGuess; // 現在入力中の数字を保持（GameUiStateと共有）
+
+    // タイマー更新用ハンドラー
+    private final Handler timerHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * タイマー更新用の定期実行タスク
+     */
+    private final Runnable timerRunnable = new Runnable() {
+        @Override
+        public void run() {
+            updateTimerText();
+            timerHandler.postDelayed(this, MILLIS_IN_SECOND);
+        }
+    };
+
+    GameControls(Context context, GameUiState uiState, int digits, boolean allowRepeats,
+                 TextView numberInputDisplay, TextView timerText, LinearLayout inputKeypadContainer,
+                 Button callButton, Button deleteButton, View spacerForDelete, int[] numberKeyIds) {
+        this.uiState = uiState;
+        this.digits = digits;
+        this.allowRepeats = allowRepeats;
+        this.numberInputDisplay = numberInputDisplay;
+        this.timerText = timerText;
+        this.inputKeypadContainer = inputKeypadContainer;
+        this.callButton = callButton;
+        this.deleteButton = deleteButton;
+        this.spacerForDelete = spacerForDelete;
+        this.currentGuess = uiState.getCurrentGuess();
+
+        // 数字ボタンは入力のたびに検索せず、最初に一度だけ取得する
+        this.numberKeys = new Button[numberKeyIds.length];
+        for (int i = 0; i < numberKeyIds.length; i++) {
+            numberKeys[i] = ((Activity) context).findViewById(numberKeyIds[i]);
+        }
+        // ボタンの色の状態（Enabled/Disabled）を管理
+        this.keypadTint = new ColorStateList(
+                new int[][]{
+                        new int[]{-android.R.attr.state_enabled},
+                        new int[]{android.R.attr.state_enabled}
+                },
+                new int[]{COLOR_GRAY, COLOR_PURPLE});
+    }
+
+    // --- 入力 ---
+
+    /**
+     * 入力途中の数字を返します。
+     */
+    String getCurrentGuess() {
+        return currentGuess.toString();
+    }
+
+    /**
+     * 規定の桁数まで入力済みかを返します。
+     */
+    boolean isInputComplete() {
+        return currentGuess.length() == digits;
+    }
+
+    /**
+     * 数字を1文字追加します。規定の桁数に達している場合は何もしません。
+     */
+    void appendDigit(String digit) {
+        if (currentGuess.length() < digits) {
+            currentGuess.append(digit);
+            updateInputDisplay();
+        }
+    }
+
+    /**
+     * 入力を1文字削除します。
+     */
+    void deleteDigit() {
+        if (currentGuess.length() > 0) {
+            currentGuess.setLength(currentGuess.length() - 1);
+            updateInputDisplay();
+        }
+    }
+
+    /**
+     * 入力バッファをクリアし、画面表示をリセットします。
+     */
+    void clearInput() {
+        currentGuess.setLength(0);
+        updateInputDisplay();
+    }
+
+    /**
+     * 入力中の数字とキーパッドの状態を更新します。
+     * 使用済みの数字ボタンを無効化し、ユーザーの誤入力を防止します。
+     */
+    void updateInputDisplay() {
+        String display = currentGuess.toString();
+
+        // 入力状況を「-」を使って視覚的に表示
+        StringBuilder sb = new StringBuilder(display);
+        while (sb.length() < digits) sb.append("-");
+        numberInputDisplay.setText(sb.toString());
+
+        // キーパッドの有効/無効を切り替えて重複入力を防ぐ（重複ありルールでは常に有効）
+        for (Button keyButton : numberKeys) {
+            String digit = keyButton.getText().toString();
+            keyButton.setEnabled(allowRepeats || !display.contains(digit));
+            keyButton.setBackgroundTintList(keypadTint);
+        }
+
+        // 規定の桁数に達した時のみCALLボタンを表示
+        boolean complete = isInputComplete();
+        callButton.setVisibility(complete ? View.VISIBLE : View.GONE);
+        spacerForDelete.setVisibility(complete ? View.GONE : View.VISIBLE);
+    }
+
+    /**
+     * ゲーム終了時に、キーパッドとCALL/削除ボタンを非表示にします。
+     */
+    void hideInput() {
+        if (inputKeypadContainer != null) inputKeypadContainer.setVisibility(View.GONE);
+        callButton.setVisibility(View.GONE);
+        deleteButton.setVisibility(View.GONE);
+        spacerForDelete.setVisibility(View.GONE);
+    }
+
+    // --- タイマー ---
+
+    /**
+     * タイマーを開始します。開始済みの場合は何もしません。
+     */
+    void startTimer() {
+        if (uiState.getStartTime() == 0L) {
+            uiState.setStartTime(System.currentTimeMillis());
+            timerHandler.postDelayed(timerRunnable, 0);
+        }
+    }
+
+    /**
+     * 画面の再生成後、プレイ中であればタイマーの表示更新を再開します（開始時刻はGameUiStateが保持）。
+     */
+    void resumeTimer() {
+        if (uiState.getStartTime() != 0L && !uiState.isGameOver()) timerHandler.post(timerRunnable);
+    }
+
+    /**
+     * タイマーを停止します。
+     */
+    void stopTimer() {
+        timerHandler.removeCallbacks(timerRunnable);
+    }
+
+    /**
+     * タイマーを停止し、クリア時点の経過時間を記録してゲーム終了状態にします。
+     *
+     * @return クリアまでの経過時間（ミリ秒）
+     */
+    long finishGame() {
+        stopTimer();
+        long elapsedMillis = getElapsedMillis();
+        uiState.setFinishedElapsedMillis(elapsedMillis);
+        uiState.setGameOver(true);
+        return elapsedMillis;
+    }
+
+    /**
+     * 経過時間を計算し、TIME: mm:ss 形式で表示を更新します。
+     */
+    void updateTimerText() {
+        int seconds = (int) (getElapsedMillis() / MILLIS_IN_SECOND);
+        timerText.setText(String.format("TIME: %02d:%02d", seconds / 60, seconds % 60));
+    }
+
+    /**
+     * タイマー開始からの経過時間（ミリ秒）を返します。未開始の場合は0、クリア後はクリア時点の値です。
+     */
+    long getElapsedMillis() {
+        if (uiState.isGameOver()) return uiState.getFinishedElapsedMillis();
+        long startTime = uiState.getStartTime();
+        return startTime == 0L ? 0L : System.currentTimeMillis() - startTime;
+    }
+}
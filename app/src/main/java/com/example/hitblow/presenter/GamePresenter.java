@@ -1,129 +1,134 @@
 package com.example.hitblow.presenter;
 
 import android.content.Context;
-import android.content.res.ColorStateList;
 import android.os.Handler;
 import android.os.Looper;
-import android.text.SpannableString;
-import android.text.Spanned;
-import android.text.style.RelativeSizeSpan;
-import android.view.Gravity;
 import android.view.View;
 import android.widget.Button;
 import android.widget.LinearLayout;
-import android.widget.ScrollView;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.example.hitblow.model.CandidateHeatmap;
+import com.example.hitblow.model.CodeSpace;
+import com.example.hitblow.model.GameArchive;
 import com.example.hitblow.model.GameManager;
-import com.example.hitblow.view.GameActivity;
+import com.example.hitblow.model.GameRecord;
+import com.example.hitblow.model.HistoryStore;
+import com.example.hitblow.model.Leaderboard;
+import com.example.hitblow.view.DigitHeatmapView;
+import com.example.hitblow.view.GameBoardView;
+import com.example.hitblow.view.HistoryAdapter;
 
 /**
  * ゲームのUI更新、タイマー管理、イベント処理の架け橋となるPresenterクラス。
  * View(GameActivity)からのイベントを受け取り、Model(GameManager)を操作して
  * その結果をViewへ反映させる役割（MVPパターン）を担います。
+ * 画面回転で引き継ぐべきUI状態は GameUiState(ViewModel) に保持し、Presenter自体は画面ごとに作り直します。
  */
 public class GamePresenter {
 
     private final Context context;
     private final GameManager gameManager;
+    private final GameUiState uiState;
 
     // UIコンポーネントの参照
-    private final LinearLayout historyLayout;
-    private final ScrollView historyScrollView;
-    private final TextView numberInputDisplay;
+    private final RecyclerView historyRecyclerView;
+    private final HistoryAdapter historyAdapter;
     private final TextView turnCountText;
-    private final TextView timerText;
-    private final TextView callResultOverlay;
+    private final TextView leaderboardResultText;
     private final LinearLayout gameOverButtonsContainer;
-    private final LinearLayout numberCardsContainer;
-    private final LinearLayout inputKeypadContainer;
-    private final Button callButton;
-    private final Button deleteButton;
-    private final View spacerForDelete;
+    private final GameBoardView gameBoardView;
+    private final DigitHeatmapView heatmapView;
 
-    // 非同期処理用ハンドラー（タイマーやオーバーレイ非表示用）
-    private final Handler handler = new Handler(Looper.getMainLooper());
-    private final Handler timerHandler = new Handler(Looper.getMainLooper());
+    // キーパッド入力とタイマー（マルチボードモードと共通）
+    private final GameControls controls;
 
-    private long startTime = 0L;
-    private final long MILLIS_IN_SECOND = 1000L;
+    // ランキングと解析用アーカイブのファイル入出力（同じファイルへの読み書きを直列化するため1スレッドで実行）
+    private static final ExecutorService DISK_EXECUTOR = Executors.newSingleThreadExecutor();
+    // 確率ヒートマップの集計（候補の走査をUIスレッドで行わず、1スレッドで順に反映する）
+    private static final ExecutorService HEATMAP_EXECUTOR = Executors.newSingleThreadExecutor();
+    // バックグラウンドの結果をUIスレッドに戻すためのハンドラー
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
 
-    // カラー定数（テーマに合わせた色指定）
-    private final int COLOR_PURPLE = 0xFF5E35B1;
-    private final int COLOR_GRAY = 0xFFAAAAAA;
-
-    private final int[] numberKeyIds;
-    private StringBuilder currentGuess; // 現在入力中の数字を保持
-    private boolean isGameOver = false;
+    // ランキングの集計結果が届いたときに表示を更新する（GameUiStateに登録）
+    private final Runnable leaderboardObserver = this::updateLeaderboardText;
+    // 確率ヒートマップの集計結果が届いたときに表示を更新する（GameUiStateに登録）
+    private final Runnable heatmapObserver = this::updateHeatmapView;
 
     /**
      * コンストラクタ。必要なUIコンポーネントとロジッククラスを紐付けます。
      */
     public GamePresenter(
-            Context context, GameManager gameManager,
-            LinearLayout historyLayout, ScrollView historyScrollView,
+            Context context, GameManager gameManager, GameUiState uiState,
+            RecyclerView historyRecyclerView, HistoryAdapter historyAdapter,
             TextView numberInputDisplay, TextView turnCountText,
-            TextView timerText, TextView callResultOverlay,
-            LinearLayout gameOverButtonsContainer, LinearLayout numberCardsContainer,
-            LinearLayout inputKeypadContainer, Button callButton,
+            TextView timerText, TextView leaderboardResultText,
+            LinearLayout gameOverButtonsContainer, GameBoardView gameBoardView,
+            DigitHeatmapView heatmapView, LinearLayout inputKeypadContainer, Button callButton,
             Button deleteButton, View spacerForDelete, int[] numberKeyIds) {
 
         this.context = context;
         this.gameManager = gameManager;
-        this.historyLayout = historyLayout;
-        this.historyScrollView = historyScrollView;
-        this.numberInputDisplay = numberInputDisplay;
+        this.uiState = uiState;
+        this.historyRecyclerView = historyRecyclerView;
+        this.historyAdapter = historyAdapter;
         this.turnCountText = turnCountText;
-        this.timerText = timerText;
-        this.callResultOverlay = callResultOverlay;
+        this.leaderboardResultText = leaderboardResultText;
         this.gameOverButtonsContainer = gameOverButtonsContainer;
-        this.numberCardsContainer = numberCardsContainer;
-        this.inputKeypadContainer = inputKeypadContainer;
-        this.callButton = callButton;
-        this.deleteButton = deleteButton;
-        this.spacerForDelete = spacerForDelete;
-        this.numberKeyIds = numberKeyIds;
-        this.currentGuess = new StringBuilder();
-
-        // 初期表示設定
-        turnCountText.setText("TURN: 0");
-        timerText.setText("TIME: 00:00");
+        this.gameBoardView = gameBoardView;
+        this.heatmapView = heatmapView;
+        this.controls = new GameControls(context, uiState,
+                gameManager.getNumberOfDigits(), gameManager.isRepeatsAllowed(),
+                numberInputDisplay, timerText, inputKeypadContainer,
+                callButton, deleteButton, spacerForDelete, numberKeyIds);
     }
 
     /**
-     * タイマー更新用の定期実行タスク
+     * 保持されているUI状態とModelの内容を画面に反映します。
+     * 新規起動時だけでなく、画面回転などでViewが再生成された直後にも呼び出します。
+     * 履歴はアダプターがModelを直接参照するため、最新行へのスクロールのみで復元できます。
      */
-    private final Runnable timerRunnable = new Runnable() {
-        @Override
-        public void run() {
-            updateTimerText();
-            timerHandler.postDelayed(this, MILLIS_IN_SECOND);
+    public void bindState() {
+        uiState.setLeaderboardObserver(leaderboardObserver);
+        uiState.setHeatmapObserver(heatmapObserver);
+        turnCountText.setText("TURN: " + gameManager.getCurrentTurn());
+        updateTimerText();
+
+        int historySize = historyAdapter.getItemCount();
+        if (historySize > 0) historyRecyclerView.scrollToPosition(historySize - 1);
+        updateHeatmap();
+
+        if (uiState.isGameOver()) {
+            showGameOverUi(false);
+        } else {
+            updateInputDisplay();
+            // プレイ中であればタイマーを再開（開始時刻はGameUiStateが保持）
+            controls.resumeTimer();
         }
-    };
+    }
 
     /**
      * 数字ボタンが押された際の処理。
      * 入力制限の管理とディスプレイ更新を行います。
      */
     public void handleNumberInput(String digit) {
-        if (isGameOver) return;
-        int maxDigits = gameManager.getNumberOfDigits();
-        if (currentGuess.length() < maxDigits) {
-            currentGuess.append(digit);
-            updateInputDisplay();
-        }
+        if (uiState.isGameOver()) return;
+        controls.appendDigit(digit);
     }
 
     /**
      * 削除ボタンが押された際の処理。一文字削除します。
      */
     public void handleDeleteInput() {
-        if (isGameOver) return;
-        if (currentGuess.length() > 0) {
-            currentGuess.setLength(currentGuess.length() - 1);
-            updateInputDisplay();
-        }
+        if (uiState.isGameOver()) return;
+        controls.deleteDigit();
     }
 
     /**
@@ -131,19 +136,19 @@ public class GamePresenter {
      * 入力された数字とCPUの正解を照合し、結果を画面に反映します。
      */
     public void handleCall() {
-        if (isGameOver) return;
-        String input = currentGuess.toString();
+        if (uiState.isGameOver()) return;
+        String input = controls.getCurrentGuess();
         int gameModeDigits = gameManager.getNumberOfDigits();
 
         // 未入力チェック
-        if (input.length() != gameModeDigits) {
+        if (!controls.isInputComplete()) {
             Toast.makeText(context, "入力が完了していません。", Toast.LENGTH_SHORT).show();
             return;
         }
 
         // 初回コール時にゲームを初期化（CPUナンバー生成）
         if (!gameManager.isCpuNumberSet()) {
-            gameManager.setupGame(gameModeDigits);
+            gameManager.setupGame(gameModeDigits, gameManager.isRepeatsAllowed());
         }
 
         boolean isFirstCall = (gameManager.getCurrentTurn() == 0);
@@ -161,7 +166,8 @@ public class GamePresenter {
             if (lastEntry != null) {
                 // 結果の演出表示と履歴リストへの追加
                 showCallResultOverlay(eats, bites);
-                addHistoryEntry(lastEntry.turn, lastEntry.guess, lastEntry.eats, lastEntry.bites);
+                addHistoryEntry();
+                updateHeatmap();
             }
 
             // 全桁一致(EAT)した場合はゲーム終了
@@ -178,175 +184,205 @@ public class GamePresenter {
      * 入力バッファをクリアし、画面表示をリセットします。
      */
     public void clearInput() {
-        currentGuess.setLength(0);
-        updateInputDisplay();
+        controls.clearInput();
     }
 
     /**
      * ゲームクリア時の処理。タイマーを停止し、正解を表示してUIを終了状態に変更します。
      */
     public void gameOver() {
-        isGameOver = true;
-        stopTimer();
+        long elapsedMillis = controls.finishGame();
+
+        // 今回の記録をランキングに登録し、順位を表示
+        recordLeaderboard(gameManager.getCurrentTurn(), elapsedMillis);
+        exportGame(elapsedMillis);
+
+        showGameOverUi(true);
+    }
 
+    /**
+     * 終了したゲームの記録を解析用アーカイブに追記します。
+     * 記録はこの時点で GameManager から複製し、ファイルへの書き込みはバックグラウンドで行います。
+     */
+    private void exportGame(long elapsedMillis) {
+        GameRecord record = GameRecord.fromGame(gameManager, uiState.getStartTime(), elapsedMillis);
+        File file = new File(context.getFilesDir(), GameArchive.FILE_NAME);
+        DISK_EXECUTOR.execute(() -> GameArchive.appendQuietly(file, record));
+    }
+
+    /**
+     * 画面をゲーム終了状態に切り替えます。
+     *
+     * @param animate 正解カードの公開をアニメーションするか（画面の復元時は false）
+     */
+    private void showGameOverUi(boolean animate) {
         // 操作UIを非表示にする
-        if (inputKeypadContainer != null) inputKeypadContainer.setVisibility(View.GONE);
-        callButton.setVisibility(View.GONE);
-        deleteButton.setVisibility(View.GONE);
-        spacerForDelete.setVisibility(View.GONE);
+        controls.hideInput();
 
         // コンティニュー/終了ボタンを表示
         gameOverButtonsContainer.setVisibility(View.VISIBLE);
         turnCountText.setText("TURN: " + gameManager.getCurrentTurn());
         updateTimerText();
+        updateLeaderboardText();
 
-        // 伏せられていたCPUの正解カードを公開する
+        // 伏せられていたCPUの正解カードを公開する（盤面Viewの再描画のみで完結）
         if (gameManager.isCpuNumberSet()) {
-            String cpuNumber = gameManager.getCpuNumber();
-            for (int i = 0; i < numberCardsContainer.getChildCount(); i++) {
-                View child = numberCardsContainer.getChildAt(i);
-                if (child instanceof TextView) {
-                    TextView card = (TextView) child;
-                    if (i < cpuNumber.length()) {
-                        card.setText(String.valueOf(cpuNumber.charAt(i)));
-                    }
-                    card.setBackgroundColor(0xFF4CAF50); // 正解カラー（緑）に変更
-                    card.setTextColor(0xFFFFFFFF);
-                }
-            }
+            gameBoardView.reveal(gameManager.getCpuNumber(), animate);
         }
     }
 
+    /**
+     * クリア記録を桁数モード別のランキングに登録し、順位・自己ベスト・上位パーセンテージを表示します。
+     * ファイルの読み書きはバックグラウンドで行い、集計が終わるまでは集計中の表示にします。
+     * 結果は GameUiState に届けるため、集計中に画面が回転しても新しい画面に表示されます。
+     */
+    private void recordLeaderboard(int turns, long elapsedMillis) {
+        int digits = gameManager.getNumberOfDigits();
+        boolean allowRepeats = gameManager.isRepeatsAllowed();
+        File dir = context.getFilesDir();
+        GameUiState state = uiState; // Activity を参照し続けないよう、ViewModel のみを渡す
+        state.setLeaderboardText("ランキングを集計中…");
+        DISK_EXECUTOR.execute(() -> {
+            Leaderboard leaderboard = Leaderboard.load(dir, digits, allowRepeats);
+            leaderboard.record(turns, elapsedMillis);
+            String text = formatLeaderboard(leaderboard, digits, allowRepeats, turns, elapsedMillis);
+            MAIN_HANDLER.post(() -> state.setLeaderboardText(text));
+        });
+    }
+
+    /**
+     * 登録後のランキングから、終了画面に表示する順位・自己ベスト・上位パーセンテージの文字列を作成します。
+     */
+    private static String formatLeaderboard(Leaderboard leaderboard, int digits, boolean allowRepeats,
+                                            int turns, long elapsedMillis) {
+        int seconds = Leaderboard.toSeconds(elapsedMillis);
+        int bestSeconds = leaderboard.bestOf(Leaderboard.Metric.TIME);
+        return String.format(
+                "%d桁モード%s（全%d件）\nターン数: %d位（上位%.0f%%） ベスト %d手\nタイム: %d位（上位%.0f%%） ベスト %02d:%02d",
+                digits, allowRepeats ? "・重複あり" : "", leaderboard.size(),
+                leaderboard.rankOf(Leaderboard.Metric.TURNS, turns),
+                leaderboard.topPercentOf(Leaderboard.Metric.TURNS, turns),
+                leaderboard.bestOf(Leaderboard.Metric.TURNS),
+                leaderboard.rankOf(Leaderboard.Metric.TIME, seconds),
+                leaderboard.topPercentOf(Leaderboard.Metric.TIME, seconds),
+                bestSeconds / 60, bestSeconds % 60);
+    }
+
+    /**
+     * 保持されているランキングの表示を画面に反映します。
+     */
+    private void updateLeaderboardText() {
+        leaderboardResultText.setText(uiState.getLeaderboardText());
+    }
+
     /**
      * 入力中の数字とキーパッドの状態を更新します。
      * 使用済みの数字ボタンを無効化し、ユーザーの誤入力を防止します。
      */
     public void updateInputDisplay() {
-        String display = currentGuess.toString();
-        int gameModeDigits = gameManager.getNumberOfDigits();
-
-        // 入力状況を「-」を使って視覚的に表示
-        StringBuilder sb = new StringBuilder(display);
-        while (sb.length() < gameModeDigits) sb.append("-");
-        numberInputDisplay.setText(sb.toString());
-
-        // ボタンの色の状態（Enabled/Disabled）を管理
-        int[][] statesKeypad = new int[][]{
-                new int[]{-android.R.attr.state_enabled},
-                new int[]{android.R.attr.state_enabled}
-        };
-        int[] colorsKeypad = new int[]{COLOR_GRAY, COLOR_PURPLE};
-        ColorStateList cslKeypad = new ColorStateList(statesKeypad, colorsKeypad);
-
-        // キーパッドの有効/無効を切り替えて重複入力を防ぐ
-        for (int id : numberKeyIds) {
-            Button keyButton = ((GameActivity) context).findViewById(id);
-            String digit = keyButton.getText().toString();
-            boolean isUsed = display.contains(digit);
-            keyButton.setEnabled(!isUsed);
-            keyButton.setBackgroundTintList(cslKeypad);
-        }
+        controls.updateInputDisplay();
+    }
 
-        // 規定の桁数に達した時のみCALLボタンを表示
-        if (currentGuess.length() == gameModeDigits) {
-            callButton.setVisibility(View.VISIBLE);
-            spacerForDelete.setVisibility(View.GONE);
-        } else {
-            callButton.setVisibility(View.GONE);
-            spacerForDelete.setVisibility(View.VISIBLE);
-        }
+    /**
+     * 最新の判定履歴を一覧に追加し、最下行までスクロールします。
+     * 追加された1行のみを通知するため、既存の行は再バインドされません。
+     */
+    private void addHistoryEntry() {
+        int position = historyAdapter.getItemCount() - 1;
+        historyAdapter.notifyItemInserted(position);
+        historyRecyclerView.scrollToPosition(position);
     }
 
     /**
-     * 判定履歴をスクロールビューに追加します。
+     * 確率ヒートマップの表示・非表示を切り替えます。
      */
-    private void addHistoryEntry(int turn, String guess, int eats, int bites) {
-        LinearLayout row = new LinearLayout(context);
-        row.setOrientation(LinearLayout.HORIZONTAL);
-        row.setPadding(0, 8, 0, 8);
-
-        // 動的なテキスト生成
-        row.addView(createHistoryTextView(guess, 2f, Gravity.CENTER));
-        row.addView(createVerticalDivider());
-        row.addView(createHistoryTextView(String.valueOf(eats), 1f, Gravity.CENTER));
-        row.addView(createVerticalDivider());
-        row.addView(createHistoryTextView(String.valueOf(bites), 1f, Gravity.CENTER));
-
-        historyLayout.addView(row);
-        // 新しい履歴が追加されたら一番下まで自動スクロール
-        historyScrollView.post(() -> historyScrollView.fullScroll(View.FOCUS_DOWN));
+    public void toggleHeatmap() {
+        uiState.setHeatmapVisible(!uiState.isHeatmapVisible());
+        updateHeatmap();
     }
 
     /**
-     * 履歴テーブルの見栄えを整えるための区切り線を生成します。
+     * 確率ヒートマップに最新の判定結果を反映します。
+     * 集計は初めて表示したときに生成し、以降は前回から増えたターンの分だけを反映します。
+     * 非表示の間は集計を更新せず、次に表示したときにまとめて反映します。
+     * 候補の走査（5桁で3万件以上）はバックグラウンドで行い、UIスレッドでは履歴の複製のみを行います。
+     * 結果は GameUiState に届けるため、集計中に画面が回転しても新しい画面に表示されます。
      */
-    private View createVerticalDivider() {
-        View divider = new View(context);
-        divider.setLayoutParams(new LinearLayout.LayoutParams(1, LinearLayout.LayoutParams.MATCH_PARENT));
-        divider.setBackgroundColor(0xFFCCCCCC);
-        return divider;
+    private void updateHeatmap() {
+        if (!uiState.isHeatmapVisible()) {
+            heatmapView.setVisibility(View.GONE);
+            return;
+        }
+        // 集計が終わるまでは前回の結果を表示しておく
+        heatmapView.setVisibility(View.VISIBLE);
+        updateHeatmapView();
+
+        HistoryStore history = gameManager.getHistoryStore();
+        long[] words = new long[history.size()];
+        for (int i = 0; i < words.length; i++) words[i] = history.wordAt(i);
+        int digits = gameManager.getNumberOfDigits();
+        boolean allowRepeats = gameManager.isRepeatsAllowed();
+        // Presenter（Activity）を参照せず、画面の再生成をまたいで残る ViewModel のみを保持する
+        GameUiState state = uiState;
+        HEATMAP_EXECUTOR.execute(() -> {
+            CandidateHeatmap heatmap = state.getHeatmap();
+            if (heatmap == null) {
+                heatmap = new CandidateHeatmap(new CodeSpace(digits, allowRepeats));
+                state.setHeatmap(heatmap);
+            }
+            heatmap.syncWith(words);
+            float[] probabilities = new float[heatmap.getDigits() * 10];
+            heatmap.copyProbabilities(probabilities);
+            MAIN_HANDLER.post(() -> state.setHeatmapProbabilities(probabilities));
+        });
     }
 
     /**
-     * 履歴行内の各テキスト要素を生成します。
+     * 保持されている確率ヒートマップの集計結果を画面に反映します。
      */
-    private TextView createHistoryTextView(String text, float weight, int gravity) {
-        TextView textView = new TextView(context);
-        textView.setText(text);
-        textView.setTextSize(16);
-        textView.setTextColor(0xFF000000);
-        textView.setGravity(gravity | Gravity.CENTER_VERTICAL);
-        textView.setPadding(8, 0, 8, 0);
-        textView.setLayoutParams(new LinearLayout.LayoutParams(0, LinearLayout.LayoutParams.WRAP_CONTENT, weight));
-        return textView;
+    private void updateHeatmapView() {
+        float[] probabilities = uiState.getHeatmapProbabilities();
+        if (probabilities == null || !uiState.isHeatmapVisible()) return;
+        heatmapView.update(probabilities.length / 10, probabilities);
     }
 
     /**
-     * 判定結果(EAT/BITE)を画面中央に強調表示（オーバーレイ）します。
+     * 判定結果(EAT/BITE)をカードの上に強調表示（オーバーレイ）します。
+     * 表示と2秒後の非表示は盤面Viewのアニメーションで行い、演出そのものはレイアウトの再計算を発生させません。
+     * ただしコール処理全体では、ターン表示の更新・CALLボタンの非表示・履歴行の追加により
+     * コールごとに1回はレイアウトが走ります。
      */
     public void showCallResultOverlay(int eats, int bites) {
-        handler.removeCallbacksAndMessages(null);
-        String eatsStr = String.valueOf(eats);
-        String bitesStr = String.valueOf(bites);
-        String fullText = eatsStr + "EAT " + bitesStr + "BITE";
-
-        // SpannableStringを使用して、数字の部分だけサイズを大きくする演出
-        SpannableString spannableString = new SpannableString(fullText);
-        spannableString.setSpan(new RelativeSizeSpan(1.5f), 0, eatsStr.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
-        int biteStart = eatsStr.length() + "EAT ".length();
-        spannableString.setSpan(new RelativeSizeSpan(1.5f), biteStart, biteStart + bitesStr.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
-
-        callResultOverlay.setText(spannableString);
-        callResultOverlay.setVisibility(View.VISIBLE);
-        callResultOverlay.bringToFront();
-
-        // 2秒後に自動的に非表示にする
-        handler.postDelayed(() -> callResultOverlay.setVisibility(View.GONE), 2000);
+        gameBoardView.showCallResult(eats, bites);
     }
 
     /**
      * タイマーを開始します。
      */
     public void startTimer() {
-        if (startTime == 0L) {
-            startTime = System.currentTimeMillis();
-            timerHandler.postDelayed(timerRunnable, 0);
-        }
+        controls.startTimer();
     }
 
     /**
      * タイマーを停止します。
      */
     public void stopTimer() {
-        if (timerHandler != null) timerHandler.removeCallbacks(timerRunnable);
+        controls.stopTimer();
+    }
+
+    /**
+     * Viewの破棄時に呼び出し、タイマーを停止してランキングの更新通知を解除します。
+     */
+    public void unbindState() {
+        stopTimer();
+        uiState.setLeaderboardObserver(null);
+        uiState.setHeatmapObserver(null);
     }
 
     /**
      * 経過時間を計算し、TIME: mm:ss 形式で表示を更新します。
      */
     public void updateTimerText() {
-        long millis = startTime == 0L ? 0L : System.currentTimeMillis() - startTime;
-        int seconds = (int) (millis / MILLIS_IN_SECOND);
-        timerText.setText(String.format("TIME: %02d:%02d", seconds / 60, seconds % 60));
+        controls.updateTimerText();
     }
-}
\ No newline at end of file
+}
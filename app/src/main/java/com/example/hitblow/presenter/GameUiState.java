@@ -0,0 +1,141 @@
+package com.example.hitblow.presenter;
+
+import androidx.lifecycle.ViewModel;
+
+import com.example.hitblow.model.CandidateHeatmap;
+
+/**
+ * ゲーム画面のUI状態を保持するViewModel。
+ * 画面回転などの構成変更でActivityとPresenterが再生成されても破棄されないため、
+ * 入力途中の数字、タイマーの開始時刻、ゲーム終了状態を引き継いで画面を復元できます。
+ * ゲームそのもののデータ（正解・履歴）はModel層のGameManagerが保持します。
+ */
+public class GameUiState extends ViewModel {
+    private final StringBuilder currentGuess = new StringBuilder(); // 入力途中の数字
+    private boolean gameStarted = false;   // この画面でゲームをセットアップ済みか
+    private boolean gameOver = false;      // ゲームクリア済みか
+    private long startTime = 0L;           // タイマー開始時刻（0は未開始）
+    private long finishedElapsedMillis = 0L; // クリア時点の経過時間
+    private CharSequence leaderboardText;  // ゲーム終了時のランキング表示
+    private Runnable leaderboardObserver;  // ランキング表示の更新通知先（表示中のPresenter）
+    private CharSequence resultText;       // マルチボードモードの終了時の結果表示
+    private boolean heatmapVisible = false; // 確率ヒートマップを表示しているか
+    private CandidateHeatmap heatmap;      // 確率ヒートマップの集計（集計用のスレッドでのみ生成・更新）
+    private float[] heatmapProbabilities;  // 集計済みの確率（[桁 × 10 + 数字]、UIスレッドで参照）
+    private Runnable heatmapObserver;      // 確率の更新通知先（表示中のPresenter）
+
+    /**
+     * 入力途中の数字を返します（Presenterが直接編集します）。
+     */
+    public StringBuilder getCurrentGuess() {
+        return currentGuess;
+    }
+
+    public boolean isGameStarted() {
+        return gameStarted;
+    }
+
+    public void setGameStarted(boolean gameStarted) {
+        this.gameStarted = gameStarted;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public void setGameOver(boolean gameOver) {
+        this.gameOver = gameOver;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(long startTime) {
+        this.startTime = startTime;
+    }
+
+    public long getFinishedElapsedMillis() {
+        return finishedElapsedMillis;
+    }
+
+    public void setFinishedElapsedMillis(long finishedElapsedMillis) {
+        this.finishedElapsedMillis = finishedElapsedMillis;
+    }
+
+    public CharSequence getLeaderboardText() {
+        return leaderboardText;
+    }
+
+    /**
+     * ランキング表示を更新し、登録されている通知先に知らせます（UIスレッドで呼び出します）。
+     */
+    public void setLeaderboardText(CharSequence leaderboardText) {
+        this.leaderboardText = leaderboardText;
+        if (leaderboardObserver != null) leaderboardObserver.run();
+    }
+
+    /**
+     * ランキング表示の更新通知先を登録します。画面の再生成時に差し替え、破棄時は null で解除します。
+     */
+    public void setLeaderboardObserver(Runnable leaderboardObserver) {
+        this.leaderboardObserver = leaderboardObserver;
+    }
+
+    public CharSequence getResultText() {
+        return resultText;
+    }
+
+    public void setResultText(CharSequence resultText) {
+        this.resultText = resultText;
+    }
+
+    public boolean isHeatmapVisible() {
+        return heatmapVisible;
+    }
+
+    public void setHeatmapVisible(boolean heatmapVisible) {
+        this.heatmapVisible = heatmapVisible;
+    }
+
+    /**
+     * 確率ヒートマップの集計を返します。未生成の場合は null です。
+     * 画面回転後も集計を引き継ぐため、反映済みのターン以降の差分だけを更新できます。
+     * 集計はUIスレッドから触らず、Presenterの集計用スレッドからのみ呼び出します。
+     */
+    public CandidateHeatmap getHeatmap() {
+        return heatmap;
+    }
+
+    public void setHeatmap(CandidateHeatmap heatmap) {
+        this.heatmap = heatmap;
+    }
+
+    /**
+     * 最後に集計した確率を返します。まだ集計していない場合は null です。
+     */
+    public float[] getHeatmapProbabilities() {
+        return heatmapProbabilities;
+    }
+
+    /**
+     * 集計した確率を更新し、登録されている通知先に知らせます（UIスレッドで呼び出します）。
+     */
+    public void setHeatmapProbabilities(float[] heatmapProbabilities) {
+        this.heatmapProbabilities = heatmapProbabilities;
+        if (heatmapObserver != null) heatmapObserver.run();
+    }
+
+    /**
+     * 確率の更新通知先を登録します。画面の再生成時に差し替え、破棄時は null で解除します。
+     */
+    public void setHeatmapObserver(Runnable heatmapObserver) {
+        this.heatmapObserver = heatmapObserver;
+    }
+
+    @Override
+    protected void onCleared() {
+        leaderboardObserver = null;
+        heatmapObserver = null;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.hitblow.presenter;
+
+import android.content.Context;
+import android.view.View;
+import android.widget.Button;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.hitblow.model.GameManager;
+import com.example.hitblow.model.MultiBoardGame;
+import com.example.hitblow.view.BoardColumnAdapter;
+
+/**
+ * マルチボードモードのUI更新、タイマー管理、イベント処理を担うPresenterクラス。
+ * 1回のコールを GameManager 経由で全盤面に判定させ、行が追加された盤面の列だけを更新します。
+ * 画面回転で引き継ぐべきUI状態は通常モードと同じ GameUiState(ViewModel) に保持します。
+ */
+public class MultiBoardPresenter {
+
+    private final Context context;
+    private final GameManager gameManager;
+    private final GameUiState uiState;
+
+    // UIコンポーネントの参照（盤面ごとの列は添字が盤面番号）
+    private final TextView[] boardHeaders;
+    private final RecyclerView[] boardColumns;
+    private final BoardColumnAdapter[] boardAdapters;
+    private final TextView turnCountText;
+    private final TextView resultText;
+    private final LinearLayout gameOverButtonsContainer;
+
+    // キーパッド入力とタイマー（通常モードと共通）
+    private final GameControls controls;
+
+    private final int COLOR_HEADER = 0xFFDDDDDD; // 未正解の盤面の見出し
+
+    /**
+     * コンストラクタ。必要なUIコンポーネントとロジッククラスを紐付けます。
+     */
+    public MultiBoardPresenter(
+            Context context, GameManager gameManager, GameUiState uiState,
+            TextView[] boardHeaders, RecyclerView[] boardColumns, BoardColumnAdapter[] boardAdapters,
+            TextView numberInputDisplay, TextView turnCountText, TextView timerText, TextView resultText,
+            LinearLayout gameOverButtonsContainer, LinearLayout inputKeypadContainer,
+            Button callButton, Button deleteButton, View spacerForDelete, int[] numberKeyIds) {
+
+        this.context = context;
+        this.gameManager = gameManager;
+        this.uiState = uiState;
+        this.boardHeaders = boardHeaders;
+        this.boardColumns = boardColumns;
+        this.boardAdapters = boardAdapters;
+        this.turnCountText = turnCountText;
+        this.resultText = resultText;
+        this.gameOverButtonsContainer = gameOverButtonsContainer;
+        MultiBoardGame game = gameManager.getMultiBoardGame();
+        this.controls = new GameControls(context, uiState, game.getDigits(), game.isRepeatsAllowed(),
+                numberInputDisplay, timerText, inputKeypadContainer,
+                callButton, deleteButton, spacerForDelete, numberKeyIds);
+    }
+
+    /**
+     * 保持されているUI状態とModelの内容を画面に反映します。
+     * 新規起動時だけでなく、画面回転などでViewが再生成された直後にも呼び出します。
+     */
+    public void bindState() {
+        MultiBoardGame game = gameManager.getMultiBoardGame();
+        turnCountText.setText("TURN: " + game.getTurnCount());
+        controls.updateTimerText();
+
+        for (int b = 0; b < game.getBoardCount(); b++) {
+            updateBoardHeader(game, b);
+            int rows = boardAdapters[b].getItemCount();
+            if (rows > 0) boardColumns[b].scrollToPosition(rows - 1);
+        }
+
+        if (uiState.isGameOver()) {
+            showGameOverUi();
+        } else {
+            controls.updateInputDisplay();
+            controls.resumeTimer();
+        }
+    }
+
+    /**
+     * 数字ボタンが押された際の処理。
+     */
+    public void handleNumberInput(String digit) {
+        if (uiState.isGameOver()) return;
+        controls.appendDigit(digit);
+    }
+
+    /**
+     * 削除ボタンが押された際の処理。一文字削除します。
+     */
+    public void handleDeleteInput() {
+        if (uiState.isGameOver()) return;
+        controls.deleteDigit();
+    }
+
+    /**
+     * CALLボタンが押された際の処理。
+     * 入力された数字を未正解の全盤面に対して判定し、行が追加された盤面の列だけを更新します。
+     */
+    public void handleCall() {
+        if (uiState.isGameOver()) return;
+        MultiBoardGame game = gameManager.getMultiBoardGame();
+        String input = controls.getCurrentGuess();
+
+        // 未入力チェック
+        if (!controls.isInputComplete()) {
+            Toast.makeText(context, "入力が完了していません。", Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        boolean isFirstCall = (game.getTurnCount() == 0);
+        int solvedBefore = game.getSolvedMask();
+
+        int changed = gameManager.processMultiBoardCall(input);
+        if (changed == 0) {
+            Toast.makeText(context, "無効な番号です（数字の重複など）。", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        if (isFirstCall) controls.startTimer();
+
+        // 行が追加された盤面にのみ通知する（正解済みの盤面は再描画しない）
+        int newlySolved = game.getSolvedMask() & ~solvedBefore;
+        for (int b = 0; b < game.getBoardCount(); b++) {
+            if ((changed & (1 << b)) == 0) continue;
+            int position = game.rowCount(b) - 1;
+            boardAdapters[b].notifyItemInserted(position);
+            boardColumns[b].scrollToPosition(position);
+            if ((newlySolved & (1 << b)) != 0) updateBoardHeader(game, b);
+        }
+
+        turnCountText.setText("TURN: " + game.getTurnCount());
+        controls.clearInput();
+
+        // 全盤面を正解した場合はゲーム終了
+        if (game.isAllSolved()) gameOver();
+    }
+
+    /**
+     * 全盤面クリア時の処理。タイマーを停止し、結果を表示してUIを終了状態に変更します。
+     */
+    public void gameOver() {
+        long elapsedMillis = controls.finishGame();
+
+        MultiBoardGame game = gameManager.getMultiBoardGame();
+        int seconds = (int) (elapsedMillis / GameControls.MILLIS_IN_SECOND);
+        uiState.setResultText(String.format("%d面クリア！ %dターン / %02d:%02d",
+                game.getBoardCount(), game.getTurnCount(), seconds / 60, seconds % 60));
+
+        showGameOverUi();
+    }
+
+    /**
+     * 画面をゲーム終了状態に切り替えます。
+     */
+    private void showGameOverUi() {
+        controls.hideInput();
+
+        gameOverButtonsContainer.setVisibility(View.VISIBLE);
+        controls.updateTimerText();
+        resultText.setText(uiState.getResultText());
+    }
+
+    /**
+     * 盤面の見出しを更新します。正解済みの盤面は正解とターン数を表示して強調します。
+     */
+    private void updateBoardHeader(MultiBoardGame game, int board) {
+        TextView header = boardHeaders[board];
+        if (game.isSolved(board)) {
+            header.setText(game.getSecret(board) + "\n" + game.getSolvedTurn(board) + "手");
+            header.setBackgroundColor(GameControls.COLOR_PURPLE);
+            header.setTextColor(0xFFFFFFFF);
+        } else {
+            header.setText("#" + (board + 1) + "\n-");
+            header.setBackgroundColor(COLOR_HEADER);
+            header.setTextColor(0xFF000000);
+        }
+    }
+
+    /**
+     * タイマーを停止します。
+     */
+    public void stopTimer() {
+        controls.stopTimer();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.hitblow.view;
+
+import android.content.Context;
+import android.view.Gravity;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.hitblow.model.CodeSpace;
+import com.example.hitblow.model.GameManager;
+import com.example.hitblow.model.MultiBoardGame;
+
+/**
+ * マルチボードモードで、1つの盤面の判定履歴（回答・EAT・BITE）を1列に表示するアダプター。
+ * 盤面ごとの履歴は持たず、MultiBoardGame の共有履歴から「この盤面の列」だけを読み取ります。
+ * 正解済みの盤面は行数が増えないため、以降のコールで再バインドされることはありません。
+ */
+public class BoardColumnAdapter extends RecyclerView.Adapter<BoardColumnAdapter.RowHolder> {
+
+    private static final int COLOR_SOLVED_ROW = 0xFFD1C4E9;
+
+    private final GameManager gameManager;
+    private final int board;
+
+    public BoardColumnAdapter(GameManager gameManager, int board) {
+        this.gameManager = gameManager;
+        this.board = board;
+    }
+
+    /**
+     * 履歴1行分のViewを保持するクラス。
+     */
+    static class RowHolder extends RecyclerView.ViewHolder {
+        final TextView rowText;
+
+        RowHolder(TextView rowText) {
+            super(rowText);
+            this.rowText = rowText;
+        }
+    }
+
+    @NonNull
+    @Override
+    public RowHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        Context context = parent.getContext();
+        TextView rowText = new TextView(context);
+        rowText.setTextSize(13);
+        rowText.setTextColor(0xFF000000);
+        rowText.setGravity(Gravity.CENTER);
+        rowText.setPadding(0, 6, 0, 6);
+        rowText.setLayoutParams(new RecyclerView.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        return new RowHolder(rowText);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RowHolder holder, int position) {
+        MultiBoardGame game = gameManager.getMultiBoardGame();
+        int response = game.responseAt(position, board);
+        // 例: "0123 2-1"（回答 EAT-BITE）
+        holder.rowText.setText(game.guessAt(position) + " "
+                + CodeSpace.eatsOf(response) + "-" + CodeSpace.bitesOf(response));
+        boolean solvedRow = game.getSolvedTurn(board) == position + 1;
+        holder.rowText.setBackgroundColor(solvedRow ? COLOR_SOLVED_ROW : 0);
+    }
+
+    @Override
+    public int getItemCount() {
+        MultiBoardGame game = gameManager.getMultiBoardGame();
+        return game == null ? 0 : game.rowCount(board);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.hitblow.view;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.View;
+
+import com.example.hitblow.model.CandidateHeatmap;
+
+/**
+ * 「各桁に各数字が来る確率」をヒートマップとして描画するView。
+ * 行が桁（上が左端の桁）、列が数字0〜9で、確率が高いほど濃い色で塗ります。
+ * 確率は update() の時点で内部の配列にコピーし、onDraw() 内ではオブジェクトを生成しません。
+ */
+public class DigitHeatmapView extends View {
+
+    private static final int COLOR_HEAT = 0xFF5E35B1;  // キーパッドと同じ紫
+    private static final int COLOR_EMPTY = 0xFFEEEEEE; // 候補のない（確率0の）セル
+    private static final int COLOR_TEXT_DARK = 0xFF000000;
+    private static final int COLOR_TEXT_LIGHT = 0xFFFFFFFF;
+    private static final int MIN_ALPHA = 40;            // 確率が0より大きいセルの最低アルファ値
+
+    private static final char[] GLYPHS = "0123456789".toCharArray();
+
+    private final Paint cellPaint = new Paint();
+    private final Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final float[] glyphWidths = new float[GLYPHS.length];
+    private final float textOffsetY;
+    private final float cellHeight;
+    private final float cellGap;
+
+    private int digits = 0;
+    private final float[] probabilities = new float[8 * 10]; // [桁 × 10 + 数字]
+
+    public DigitHeatmapView(Context context) {
+        this(context, null);
+    }
+
+    public DigitHeatmapView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        cellHeight = dp(22);
+        cellGap = dp(1);
+
+        textPaint.setTextSize(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, 13,
+                getResources().getDisplayMetrics()));
+        for (int i = 0; i < GLYPHS.length; i++) {
+            glyphWidths[i] = textPaint.measureText(GLYPHS, i, 1);
+        }
+        Paint.FontMetrics metrics = textPaint.getFontMetrics();
+        textOffsetY = -(metrics.ascent + metrics.descent) / 2f;
+    }
+
+    /**
+     * ヒートマップの最新の確率を取り込み、再描画します。
+     * 桁数が変わる場合のみレイアウトを再計算します。
+     *
+     * @param heatmapDigits 桁数
+     * @param values        [桁 × 10 + 数字] の順の確率（{@link CandidateHeatmap#copyProbabilities(float[])} の結果）
+     */
+    public void update(int heatmapDigits, float[] values) {
+        int newDigits = Math.min(heatmapDigits, probabilities.length / 10);
+        if (digits != newDigits) {
+            digits = newDigits;
+            requestLayout();
+        }
+        System.arraycopy(values, 0, probabilities, 0, newDigits * 10);
+        invalidate();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int desiredHeight = (int) (digits * cellHeight) + getPaddingTop() + getPaddingBottom();
+        setMeasuredDimension(getDefaultSize(getSuggestedMinimumWidth(), widthMeasureSpec),
+                resolveSize(desiredHeight, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        float left = getPaddingLeft();
+        float top = getPaddingTop();
+        float cellWidth = (getWidth() - getPaddingLeft() - getPaddingRight()) / 10f;
+
+        for (int position = 0; position < digits; position++) {
+            float y = top + position * cellHeight;
+            float centerY = y + cellHeight / 2f;
+            for (int digit = 0; digit < 10; digit++) {
+                float p = probabilities[position * 10 + digit];
+                float x = left + digit * cellWidth;
+
+                if (p > 0f) {
+                    cellPaint.setColor(COLOR_HEAT);
+                    cellPaint.setAlpha(MIN_ALPHA + (int) (p * (255 - MIN_ALPHA)));
+                } else {
+                    cellPaint.setColor(COLOR_EMPTY);
+                }
+                canvas.drawRect(x + cellGap, y + cellGap, x + cellWidth - cellGap, y + cellHeight - cellGap, cellPaint);
+
+                textPaint.setColor(p >= 0.5f ? COLOR_TEXT_LIGHT : COLOR_TEXT_DARK);
+                canvas.drawText(GLYPHS, digit, 1, x + (cellWidth - glyphWidths[digit]) / 2f,
+                        centerY + textOffsetY, textPaint);
+            }
+        }
+    }
+
+    private float dp(float value) {
+        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, value, getResources().getDisplayMetrics());
+    }
+}
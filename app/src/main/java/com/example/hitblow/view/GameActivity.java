@@ -2,19 +2,21 @@ package com.example.hitblow.view;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.view.Gravity;
 import android.view.View;
 import android.widget.Button;
 import android.widget.LinearLayout;
-import android.widget.ScrollView;
 import android.widget.TextView;
 
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.hitblow.R;
 import com.example.hitblow.model.GameManager;
 import com.example.hitblow.presenter.GamePresenter;
+import com.example.hitblow.presenter.GameUiState;
 
 /**
  * ゲームプレイ画面の制御を担当するView層のActivity。
@@ -27,23 +29,26 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
     private TextView numberInputDisplay;       // 入力された数字を表示するエリア
     private TextView turnCountText;            // 現在のターン数を表示するテキスト
     private TextView timerText;                // 経過時間を表示するテキスト
-    private LinearLayout historyLayout;        // 判定履歴の行を追加するコンテナ
-    private LinearLayout numberCardsContainer; // CPUの隠し数字カードを表示するコンテナ
-    private ScrollView historyScrollView;      // 履歴エリアのスクロール管理
+    private RecyclerView historyRecyclerView;  // 判定履歴の一覧
+    private GameBoardView gameBoardView;       // CPUの隠し数字カードと判定結果を描画する盤面
+    private DigitHeatmapView heatmapView;      // 各桁の数字の確率ヒートマップ
     private Button callButton;                 // 判定実行ボタン
     private Button deleteButton;               // 一文字削除ボタン
     private View spacerForDelete;              // 削除ボタン横の余白調整用View
-    private TextView callResultOverlay;        // 画面中央に表示される判定結果エフェクト
+    private TextView leaderboardResultText;    // ゲーム終了時に表示されるランキング結果
     private LinearLayout gameOverButtonsContainer; // ゲーム終了時に表示される操作パネル
     private Button restartButton;              // リトライボタン
     private Button mainMenuButton;             // メニュー戻るボタン
     private Button homeButton;                 // プレイ中のホーム戻るボタン
+    private Button heatmapButton;              // 確率ヒートマップの表示切り替えボタン
     private LinearLayout inputKeypadContainer; // 数字キーパッド全体のコンテナ
 
     // MVPパターンの各要素
     private GameManager gameManager;     // データの保持とロジック (Model)
     private GamePresenter gamePresenter; // 表示の制御 (Presenter)
+    private GameUiState uiState;         // 画面回転後も保持されるUI状態 (ViewModel)
     private int gameModeDigits;          // 選択されたゲームモード（3〜5桁）
+    private boolean allowRepeats;        // 同じ数字の重複を許すルールか
 
     // ナンバーキーパッド（0〜9）のボタンIDを管理
     private final int[] numberKeyIds = {
@@ -61,25 +66,34 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
 
         // 前の画面（ModeSelectActivity）から渡された桁数を取得。デフォルトは3桁。
         gameModeDigits = getIntent().getIntExtra(ModeSelectActivity.EXTRA_DIGITS, 3);
+        allowRepeats = getIntent().getBooleanExtra(ModeSelectActivity.EXTRA_ALLOW_REPEATS, false);
 
         // シングルトンからModelを取得し、ゲームをセットアップ
         gameManager = GameManager.getInstance();
-        if (savedInstanceState == null) {
+        uiState = new ViewModelProvider(this).get(GameUiState.class);
+        if (!uiState.isGameStarted()) {
             // Activityの再生成（画面回転など）ではない新規起動時のみセットアップ
-            gameManager.setupGame(gameModeDigits);
+            // ViewModelと同じ寿命で判定するため、UI状態とModelが食い違うことはありません
+            gameManager.setupGame(gameModeDigits, allowRepeats);
+            uiState.setGameStarted(true);
         }
 
+        // 履歴一覧はModelの履歴を直接参照するアダプターで表示
+        HistoryAdapter historyAdapter = new HistoryAdapter(gameManager);
+        historyRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        historyRecyclerView.setAdapter(historyAdapter);
+
         // Viewの各要素をPresenterに渡し、MVPの橋渡しを構築
         gamePresenter = new GamePresenter(
-                this, gameManager, historyLayout, historyScrollView,
-                numberInputDisplay, turnCountText, timerText, callResultOverlay,
-                gameOverButtonsContainer, numberCardsContainer, inputKeypadContainer,
+                this, gameManager, uiState, historyRecyclerView, historyAdapter,
+                numberInputDisplay, turnCountText, timerText,
+                leaderboardResultText, gameOverButtonsContainer, gameBoardView, heatmapView, inputKeypadContainer,
                 callButton, deleteButton, spacerForDelete, numberKeyIds
         );
 
-        // 桁数に合わせた正解カードの動的生成と初期表示
-        setupNumberCards(gameModeDigits);
-        gamePresenter.updateInputDisplay();
+        // 桁数に合わせた正解カードの初期表示と、保持されている状態（入力途中の数字・タイマー・終了状態）の復元
+        gameBoardView.setDigits(gameModeDigits);
+        gamePresenter.bindState();
 
         // 各ボタンにクリックリスナーを設定
         setEventListeners();
@@ -92,14 +106,14 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
         numberInputDisplay = findViewById(R.id.number_input_display);
         turnCountText = findViewById(R.id.turn_count_text);
         timerText = findViewById(R.id.timer_text);
-        historyLayout = findViewById(R.id.history_layout);
-        numberCardsContainer = findViewById(R.id.number_cards_container);
-        historyScrollView = findViewById(R.id.history_scrollview);
+        historyRecyclerView = findViewById(R.id.history_recycler_view);
+        gameBoardView = findViewById(R.id.game_board_view);
+        heatmapView = findViewById(R.id.digit_heatmap_view);
         callButton = findViewById(R.id.key_call);
         deleteButton = findViewById(R.id.key_delete);
         spacerForDelete = findViewById(R.id.spacer_for_delete);
-        callResultOverlay = findViewById(R.id.call_result_overlay);
         homeButton = findViewById(R.id.button_home);
+        heatmapButton = findViewById(R.id.button_heatmap);
         inputKeypadContainer = findViewById(R.id.input_keypad_container);
         gameOverButtonsContainer = findViewById(R.id.game_over_buttons_container);
 
@@ -107,6 +121,7 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
         if (gameOverButtonsContainer != null) {
             restartButton = gameOverButtonsContainer.findViewById(R.id.button_restart);
             mainMenuButton = gameOverButtonsContainer.findViewById(R.id.button_main_menu);
+            leaderboardResultText = gameOverButtonsContainer.findViewById(R.id.leaderboard_result_text);
         }
     }
 
@@ -129,6 +144,9 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
 
         // プレイ中の離脱確認
         homeButton.setOnClickListener(v -> showHomeConfirmationDialog());
+
+        // 確率ヒートマップの表示切り替え
+        heatmapButton.setOnClickListener(v -> gamePresenter.toggleHeatmap());
     }
 
     /**
@@ -138,37 +156,7 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        if (gamePresenter != null) gamePresenter.stopTimer();
-    }
-
-    /**
-     * CPUの隠し数字を表示するカードを桁数に応じて動的に生成します。
-     * デザインの一貫性を保つため、プログラム上でサイズやマージンを計算します。
-     */
-    private void setupNumberCards(int digits) {
-        numberCardsContainer.removeAllViews();
-        float density = getResources().getDisplayMetrics().density;
-
-        // カードのサイズをdp単位からピクセル単位へ変換（56dp x 84dp）
-        int cardWidthPx = (int) (56 * density);
-        int cardHeightPx = (int) (84 * density);
-        int cardMarginPx = (int) (8 * density);
-
-        for (int i = 0; i < digits; i++) {
-            TextView card = new TextView(this);
-            card.setText("?"); // 初期状態は伏せられた状態
-            card.setTextSize(48);
-            card.setTextColor(0xFFFFFFFF);
-            card.setBackgroundColor(0xFF333333); // 未公開時のダークグレー
-            card.setGravity(Gravity.CENTER);
-            card.setElevation(4f); // 少し浮かせたような影をつける
-
-            LinearLayout.LayoutParams params = new LinearLayout.LayoutParams(cardWidthPx, cardHeightPx);
-            params.setMargins(cardMarginPx, 0, cardMarginPx, 0);
-            card.setLayoutParams(params);
-
-            numberCardsContainer.addView(card);
-        }
+        if (gamePresenter != null) gamePresenter.unbindState();
     }
 
     /**
@@ -185,9 +173,10 @@ public class GameActivity extends AppCompatActivity implements View.OnClickListe
      * 同じ設定でゲームを最初からやり直します。
      */
     private void restartGame() {
-        gameManager.setupGame(gameModeDigits);
+        gameManager.setupGame(gameModeDigits, allowRepeats);
         Intent intent = new Intent(this, GameActivity.class);
         intent.putExtra(ModeSelectActivity.EXTRA_DIGITS, gameModeDigits);
+        intent.putExtra(ModeSelectActivity.EXTRA_ALLOW_REPEATS, allowRepeats);
         finish(); // 現在の画面を閉じ、新しいGameActivityを起動してリフレッシュ
         startActivity(intent);
     }
@@ -0,0 +1,259 @@
+package com.example.hitblow.view;
+
+import android.animation.ValueAnimator;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.View;
+import android.view.animation.DecelerateInterpolator;
+import android.view.animation.LinearInterpolator;
+
+/**
+ * CPUの正解カード、カードの公開アニメーション、EAT/BITE判定のオーバーレイを1枚のCanvasに描画するView。
+ * カードごとにTextViewを生成する方式と異なり、このViewの判定表示や公開のアニメーションは
+ * レイアウトの再計算を発生させず、invalidate() による再描画のみで更新します。
+ * （コール時の画面全体の更新、たとえば履歴リストへの行の追加は対象外です。）
+ * 描画に使う文字幅は事前に計測してキャッシュし、onDraw() 内ではオブジェクトを生成しません。
+ */
+public class GameBoardView extends View {
+
+    // カラー定数（従来のカード・オーバーレイと同じ配色）
+    private static final int COLOR_CARD_HIDDEN = 0xFF333333;   // 未公開時のダークグレー
+    private static final int COLOR_CARD_REVEALED = 0xFF4CAF50; // 正解カラー（緑）
+    private static final int COLOR_CARD_SHADOW = 0x33000000;
+    private static final int COLOR_OVERLAY = 0xFF333333;
+    private static final int COLOR_TEXT = 0xFFFFFFFF;
+
+    private static final long RESULT_DURATION_MS = 2000L; // オーバーレイの表示時間
+    private static final long RESULT_FADE_MS = 150L;      // フェードイン/アウトの時間
+    private static final long REVEAL_DURATION_MS = 400L;  // カード公開（裏返し）の時間
+
+    // 描画用の文字（'0'〜'9' と未公開を表す '?'）
+    private static final char[] GLYPHS = "0123456789?".toCharArray();
+    private static final int GLYPH_HIDDEN = 10;
+    private static final char[] EAT_LABEL = "EAT ".toCharArray();
+    private static final char[] BITE_LABEL = "BITE".toCharArray();
+
+    private final Paint cardPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint cardTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint overlayPaint = new Paint();
+    private final Paint overlayTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint overlayNumberPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    // 事前計測した文字幅・ベースライン補正値（レイアウトのキャッシュ）
+    private final float[] cardGlyphWidths = new float[GLYPHS.length];
+    private final float[] overlayNumberWidths = new float[GLYPHS.length];
+    private final float eatLabelWidth;
+    private final float biteLabelWidth;
+    private final float cardTextOffsetY;
+    private final float overlayTextOffsetY;
+
+    // サイズ（px）
+    private final float cardWidth;
+    private final float cardHeight;
+    private final float cardMargin;
+    private final float cardElevation;
+    private final float cardCorner;
+    private final float overlayHeight;
+
+    // 盤面の状態
+    private int digits = 0;
+    private final int[] answerGlyphs = new int[10]; // 公開するカードの文字（GLYPHSのインデックス）
+    private boolean revealed = false;
+    private float revealProgress = 0f;              // 0: 伏せた状態 〜 1: 公開済み
+    private int resultEats = 0;
+    private int resultBites = 0;
+    private float resultAlpha = 0f;
+
+    // アニメーターは使い回し、判定のたびに生成しない（どちらも0→1のため、更新時は getAnimatedFraction() で
+    // Float をボクシングせずに進捗を取得する）
+    private final ValueAnimator revealAnimator = ValueAnimator.ofFloat(0f, 1f);
+    private final ValueAnimator resultAnimator = ValueAnimator.ofFloat(0f, 1f);
+
+    public GameBoardView(Context context) {
+        this(context, null);
+    }
+
+    public GameBoardView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+
+        cardWidth = dp(56);
+        cardHeight = dp(84);
+        cardMargin = dp(8);
+        cardElevation = dp(4);
+        cardCorner = dp(2);
+        overlayHeight = dp(60);
+
+        cardTextPaint.setColor(COLOR_TEXT);
+        cardTextPaint.setTextSize(sp(48));
+        overlayPaint.setColor(COLOR_OVERLAY);
+        overlayTextPaint.setColor(COLOR_TEXT);
+        overlayTextPaint.setTextSize(sp(20));
+        overlayTextPaint.setTypeface(Typeface.DEFAULT_BOLD);
+        overlayNumberPaint.setColor(COLOR_TEXT);
+        overlayNumberPaint.setTextSize(sp(20) * 1.5f); // 数字部分のみ1.5倍で強調
+        overlayNumberPaint.setTypeface(Typeface.DEFAULT_BOLD);
+
+        for (int i = 0; i < GLYPHS.length; i++) {
+            cardGlyphWidths[i] = cardTextPaint.measureText(GLYPHS, i, 1);
+            overlayNumberWidths[i] = overlayNumberPaint.measureText(GLYPHS, i, 1);
+        }
+        eatLabelWidth = overlayTextPaint.measureText(EAT_LABEL, 0, EAT_LABEL.length);
+        biteLabelWidth = overlayTextPaint.measureText(BITE_LABEL, 0, BITE_LABEL.length);
+        Paint.FontMetrics cardMetrics = cardTextPaint.getFontMetrics();
+        cardTextOffsetY = -(cardMetrics.ascent + cardMetrics.descent) / 2f;
+        Paint.FontMetrics numberMetrics = overlayNumberPaint.getFontMetrics();
+        overlayTextOffsetY = -(numberMetrics.ascent + numberMetrics.descent) / 2f;
+
+        revealAnimator.setDuration(REVEAL_DURATION_MS);
+        revealAnimator.setInterpolator(new DecelerateInterpolator());
+        revealAnimator.addUpdateListener(animation -> {
+            revealProgress = animation.getAnimatedFraction();
+            invalidate();
+        });
+
+        resultAnimator.setDuration(RESULT_DURATION_MS);
+        resultAnimator.setInterpolator(new LinearInterpolator());
+        resultAnimator.addUpdateListener(animation -> {
+            // 経過時間からフェードイン → 表示 → フェードアウトのアルファ値を求める
+            float played = animation.getAnimatedFraction() * RESULT_DURATION_MS;
+            float fadeIn = Math.min(1f, played / (float) RESULT_FADE_MS);
+            float fadeOut = Math.min(1f, (RESULT_DURATION_MS - played) / (float) RESULT_FADE_MS);
+            resultAlpha = Math.max(0f, Math.min(fadeIn, fadeOut));
+            invalidate();
+        });
+    }
+
+    /**
+     * 表示するカードの枚数（桁数）を設定し、伏せた状態に戻します。
+     * 枚数が変わる場合のみレイアウトを再計算します。
+     */
+    public void setDigits(int digits) {
+        revealAnimator.cancel();
+        revealed = false;
+        revealProgress = 0f;
+        if (this.digits != digits) {
+            this.digits = Math.min(digits, answerGlyphs.length);
+            requestLayout();
+        }
+        invalidate();
+    }
+
+    /**
+     * 正解のカードを裏返しアニメーション付きで公開します。
+     *
+     * @param answer 正解の数字列
+     * @param animate false の場合はアニメーションせず即座に公開状態にします（画面の復元用）
+     */
+    public void reveal(CharSequence answer, boolean animate) {
+        for (int i = 0; i < digits; i++) {
+            answerGlyphs[i] = i < answer.length() ? answer.charAt(i) - '0' : GLYPH_HIDDEN;
+        }
+        revealed = true;
+        revealAnimator.cancel();
+        if (animate) {
+            revealProgress = 0f;
+            revealAnimator.start();
+        } else {
+            revealProgress = 1f;
+            invalidate();
+        }
+    }
+
+    /**
+     * 判定結果(EAT/BITE)をカードの上に2秒間オーバーレイ表示します。
+     */
+    public void showCallResult(int eats, int bites) {
+        resultEats = Math.min(eats, 9);
+        resultBites = Math.min(bites, 9);
+        resultAnimator.cancel();
+        resultAnimator.start();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int desiredWidth = (int) (digits * (cardWidth + cardMargin * 2)) + getPaddingLeft() + getPaddingRight();
+        int desiredHeight = (int) (cardHeight + cardElevation) + getPaddingTop() + getPaddingBottom();
+        setMeasuredDimension(resolveSize(desiredWidth, widthMeasureSpec),
+                resolveSize(desiredHeight, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        revealAnimator.cancel();
+        resultAnimator.cancel();
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        float rowWidth = digits * (cardWidth + cardMargin * 2);
+        float left = (getWidth() - rowWidth) / 2f + cardMargin;
+        float top = (getHeight() - cardHeight - cardElevation) / 2f;
+        float centerY = top + cardHeight / 2f;
+
+        // 裏返しの前半は伏せたカードが縮み、後半で公開面が広がる
+        boolean showFace = revealed && revealProgress >= 0.5f;
+        float flipScale = revealed ? Math.abs(1f - 2f * revealProgress) : 1f;
+
+        for (int i = 0; i < digits; i++) {
+            float x = left + i * (cardWidth + cardMargin * 2);
+            float centerX = x + cardWidth / 2f;
+
+            canvas.save();
+            canvas.scale(flipScale, 1f, centerX, centerY);
+
+            // 影（elevation相当）
+            cardPaint.setColor(COLOR_CARD_SHADOW);
+            canvas.drawRoundRect(x, top + cardElevation, x + cardWidth, top + cardHeight + cardElevation,
+                    cardCorner, cardCorner, cardPaint);
+
+            cardPaint.setColor(showFace ? COLOR_CARD_REVEALED : COLOR_CARD_HIDDEN);
+            canvas.drawRoundRect(x, top, x + cardWidth, top + cardHeight, cardCorner, cardCorner, cardPaint);
+
+            int glyph = showFace ? answerGlyphs[i] : GLYPH_HIDDEN;
+            canvas.drawText(GLYPHS, glyph, 1, centerX - cardGlyphWidths[glyph] / 2f,
+                    centerY + cardTextOffsetY, cardTextPaint);
+            canvas.restore();
+        }
+
+        if (resultAlpha > 0f) drawResultOverlay(canvas);
+    }
+
+    /**
+     * 「nEAT nBITE」の帯を描画します。数字部分は大きいフォントで描画します。
+     */
+    private void drawResultOverlay(Canvas canvas) {
+        int alpha = (int) (resultAlpha * 255);
+        float centerY = getHeight() / 2f;
+        overlayPaint.setAlpha(alpha);
+        overlayTextPaint.setAlpha(alpha);
+        overlayNumberPaint.setAlpha(alpha);
+        canvas.drawRect(0, centerY - overlayHeight / 2f, getWidth(), centerY + overlayHeight / 2f, overlayPaint);
+
+        float totalWidth = overlayNumberWidths[resultEats] + eatLabelWidth
+                + overlayNumberWidths[resultBites] + biteLabelWidth;
+        float x = (getWidth() - totalWidth) / 2f;
+        float baseline = centerY + overlayTextOffsetY;
+
+        canvas.drawText(GLYPHS, resultEats, 1, x, baseline, overlayNumberPaint);
+        x += overlayNumberWidths[resultEats];
+        canvas.drawText(EAT_LABEL, 0, EAT_LABEL.length, x, baseline, overlayTextPaint);
+        x += eatLabelWidth;
+        canvas.drawText(GLYPHS, resultBites, 1, x, baseline, overlayNumberPaint);
+        x += overlayNumberWidths[resultBites];
+        canvas.drawText(BITE_LABEL, 0, BITE_LABEL.length, x, baseline, overlayTextPaint);
+    }
+
+    private float dp(float value) {
+        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, value, getResources().getDisplayMetrics());
+    }
+
+    private float sp(float value) {
+        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, value, getResources().getDisplayMetrics());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.hitblow.view;
+
+import android.content.Context;
+import android.view.Gravity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.hitblow.model.GameManager;
+import com.example.hitblow.model.HistoryStore;
+
+/**
+ * 判定履歴（回答・EAT・BITE）を一覧表示するためのアダプター。
+ * GameManagerが保持する履歴を直接参照するため、画面回転などでViewが再生成されても
+ * 履歴を複製・再生する必要はなく、表示中の行だけがバインドされます。
+ */
+public class HistoryAdapter extends RecyclerView.Adapter<HistoryAdapter.RowHolder> {
+
+    private final GameManager gameManager;
+
+    public HistoryAdapter(GameManager gameManager) {
+        this.gameManager = gameManager;
+    }
+
+    /**
+     * 履歴1行分のViewを保持するクラス。
+     */
+    static class RowHolder extends RecyclerView.ViewHolder {
+        final TextView guessText;
+        final TextView eatsText;
+        final TextView bitesText;
+
+        RowHolder(LinearLayout row, TextView guessText, TextView eatsText, TextView bitesText) {
+            super(row);
+            this.guessText = guessText;
+            this.eatsText = eatsText;
+            this.bitesText = bitesText;
+        }
+    }
+
+    @NonNull
+    @Override
+    public RowHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        Context context = parent.getContext();
+        LinearLayout row = new LinearLayout(context);
+        row.setOrientation(LinearLayout.HORIZONTAL);
+        row.setPadding(0, 8, 0, 8);
+        row.setLayoutParams(new RecyclerView.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+
+        TextView guessText = createHistoryTextView(context, 2f);
+        TextView eatsText = createHistoryTextView(context, 1f);
+        TextView bitesText = createHistoryTextView(context, 1f);
+        row.addView(guessText);
+        row.addView(createVerticalDivider(context));
+        row.addView(eatsText);
+        row.addView(createVerticalDivider(context));
+        row.addView(bitesText);
+        return new RowHolder(row, guessText, eatsText, bitesText);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RowHolder holder, int position) {
+        // HistoryEntry を生成せず、詰め込み形式の履歴から直接読み取る
+        HistoryStore history = gameManager.getHistoryStore();
+        holder.guessText.setText(history.guessAt(position));
+        holder.eatsText.setText(String.valueOf(history.eatsAt(position)));
+        holder.bitesText.setText(String.valueOf(history.bitesAt(position)));
+    }
+
+    @Override
+    public int getItemCount() {
+        return gameManager.getHistoryStore().size();
+    }
+
+    /**
+     * 履歴テーブルの見栄えを整えるための区切り線を生成します。
+     */
+    private static View createVerticalDivider(Context context) {
+        View divider = new View(context);
+        divider.setLayoutParams(new LinearLayout.LayoutParams(1, LinearLayout.LayoutParams.MATCH_PARENT));
+        divider.setBackgroundColor(0xFFCCCCCC);
+        return divider;
+    }
+
+    /**
+     * 履歴行内の各テキスト要素を生成します。
+     */
+    private static TextView createHistoryTextView(Context context, float weight) {
+        TextView textView = new TextView(context);
+        textView.setTextSize(16);
+        textView.setTextColor(0xFF000000);
+        textView.setGravity(Gravity.CENTER | Gravity.CENTER_VERTICAL);
+        textView.setPadding(8, 0, 8, 0);
+        textView.setLayoutParams(new LinearLayout.LayoutParams(0, LinearLayout.LayoutParams.WRAP_CONTENT, weight));
+        return textView;
+    }
+}
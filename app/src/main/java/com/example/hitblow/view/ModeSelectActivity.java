@@ -3,6 +3,7 @@ package com.example.hitblow.view;
 import android.content.Intent;
 import android.os.Bundle;
 import android.widget.Button;
+import android.widget.CheckBox;
 
 import androidx.appcompat.app.AppCompatActivity;
 
@@ -22,6 +23,21 @@ public class ModeSelectActivity extends AppCompatActivity {
      */
     public static final String EXTRA_DIGITS = "com.example.hitblow.DIGITS";
 
+    /**
+     * 同じ数字の重複を許すルール（マスターマインド方式）で遊ぶかどうかを渡す際のキー。
+     */
+    public static final String EXTRA_ALLOW_REPEATS = "com.example.hitblow.ALLOW_REPEATS";
+
+    /**
+     * マルチボードモードで同時に当てる盤面の数を渡す際のキー。
+     */
+    public static final String EXTRA_BOARDS = "com.example.hitblow.BOARDS";
+
+    /** クアッドモードの盤面数 */
+    public static final int QUAD_BOARDS = 4;
+
+    private CheckBox allowRepeatsCheckBox; // 重複ありルールの切り替え
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -32,12 +48,15 @@ public class ModeSelectActivity extends AppCompatActivity {
         Button button3 = findViewById(R.id.button_mode_3); // 3桁モード：初級
         Button button4 = findViewById(R.id.button_mode_4); // 4桁モード：中級
         Button button5 = findViewById(R.id.button_mode_5); // 5桁モード：上級
+        Button buttonQuad = findViewById(R.id.button_mode_quad); // クアッドモード：4桁×4面
+        allowRepeatsCheckBox = findViewById(R.id.checkbox_allow_repeats);
 
         // --- クリックイベントの設定 ---
         // 各ボタンに対して、対応する桁数を引数として startGame メソッドを呼び出します。
         button3.setOnClickListener(v -> startGame(3));
         button4.setOnClickListener(v -> startGame(4));
         button5.setOnClickListener(v -> startGame(5));
+        buttonQuad.setOnClickListener(v -> startMultiBoardGame(4, QUAD_BOARDS));
     }
 
     /**
@@ -52,8 +71,23 @@ public class ModeSelectActivity extends AppCompatActivity {
         // Intentの付随情報(Extra)として桁数をセット
         // これにより GameActivity 側で「今何桁モードで遊んでいるか」が判定可能になります。
         intent.putExtra(EXTRA_DIGITS, digits);
+        intent.putExtra(EXTRA_ALLOW_REPEATS, allowRepeatsCheckBox.isChecked());
 
         // 次の画面へ遷移
         startActivity(intent);
     }
+
+    /**
+     * 複数の正解を同時に当てるマルチボードモードの MultiBoardActivity を起動します。
+     *
+     * @param digits     桁数
+     * @param boardCount 盤面数
+     */
+    private void startMultiBoardGame(int digits, int boardCount) {
+        Intent intent = new Intent(ModeSelectActivity.this, MultiBoardActivity.class);
+        intent.putExtra(EXTRA_DIGITS, digits);
+        intent.putExtra(EXTRA_BOARDS, boardCount);
+        intent.putExtra(EXTRA_ALLOW_REPEATS, allowRepeatsCheckBox.isChecked());
+        startActivity(intent);
+    }
 }
\ No newline at end of file
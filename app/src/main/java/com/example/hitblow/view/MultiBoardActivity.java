@@ -0,0 +1,203 @@
+package com.example.hitblow.view;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.view.Gravity;
+import android.view.View;
+import android.widget.Button;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.appcompat.app.AlertDialog;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.hitblow.R;
+import com.example.hitblow.model.GameManager;
+import com.example.hitblow.presenter.GameUiState;
+import com.example.hitblow.presenter.MultiBoardPresenter;
+
+/**
+ * マルチボードモード（複数の正解を同時に当てるモード）のプレイ画面を担当するView層のActivity。
+ * 盤面ごとに「見出し + 判定履歴の列」を横に並べ、キーパッドは通常モードと共通のレイアウトを使います。
+ */
+public class MultiBoardActivity extends AppCompatActivity implements View.OnClickListener {
+
+    // --- UIコンポーネント ---
+    private TextView numberInputDisplay;       // 入力された数字を表示するエリア
+    private TextView turnCountText;            // 現在のターン数を表示するテキスト
+    private TextView timerText;                // 経過時間を表示するテキスト
+    private LinearLayout boardColumnsContainer; // 盤面ごとの列を並べるコンテナ
+    private Button callButton;                 // 判定実行ボタン
+    private Button deleteButton;               // 一文字削除ボタン
+    private View spacerForDelete;              // 削除ボタン横の余白調整用View
+    private TextView resultText;               // ゲーム終了時に表示される結果
+    private LinearLayout gameOverButtonsContainer; // ゲーム終了時に表示される操作パネル
+    private LinearLayout inputKeypadContainer; // 数字キーパッド全体のコンテナ
+
+    // MVPパターンの各要素
+    private GameManager gameManager;
+    private MultiBoardPresenter presenter;
+    private int gameModeDigits;   // 桁数
+    private int boardCount;       // 盤面数
+    private boolean allowRepeats; // 同じ数字の重複を許すルールか
+
+    // ナンバーキーパッド（0〜9）のボタンIDを管理
+    private final int[] numberKeyIds = {
+            R.id.key_0, R.id.key_1, R.id.key_2, R.id.key_3, R.id.key_4,
+            R.id.key_5, R.id.key_6, R.id.key_7, R.id.key_8, R.id.key_9
+    };
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_multi_board);
+
+        initViews();
+
+        gameModeDigits = getIntent().getIntExtra(ModeSelectActivity.EXTRA_DIGITS, 4);
+        boardCount = getIntent().getIntExtra(ModeSelectActivity.EXTRA_BOARDS, ModeSelectActivity.QUAD_BOARDS);
+        allowRepeats = getIntent().getBooleanExtra(ModeSelectActivity.EXTRA_ALLOW_REPEATS, false);
+
+        gameManager = GameManager.getInstance();
+        GameUiState uiState = new ViewModelProvider(this).get(GameUiState.class);
+        if (!uiState.isGameStarted()) {
+            // Activityの再生成（画面回転など）ではない新規起動時のみセットアップ
+            gameManager.setupMultiBoardGame(gameModeDigits, boardCount, allowRepeats);
+            uiState.setGameStarted(true);
+        }
+
+        // 盤面ごとの列を生成（各列のアダプターは共有履歴から自分の盤面だけを読み取る）
+        TextView[] headers = new TextView[boardCount];
+        RecyclerView[] columns = new RecyclerView[boardCount];
+        BoardColumnAdapter[] adapters = new BoardColumnAdapter[boardCount];
+        for (int b = 0; b < boardCount; b++) {
+            headers[b] = createBoardHeader();
+            adapters[b] = new BoardColumnAdapter(gameManager, b);
+            columns[b] = new RecyclerView(this);
+            columns[b].setLayoutManager(new LinearLayoutManager(this));
+            columns[b].setAdapter(adapters[b]);
+            columns[b].setBackgroundColor(0xFFFFFFFF);
+            columns[b].setLayoutParams(new LinearLayout.LayoutParams(LinearLayout.LayoutParams.MATCH_PARENT, 0, 1f));
+            boardColumnsContainer.addView(createBoardColumn(headers[b], columns[b], b));
+        }
+
+        presenter = new MultiBoardPresenter(
+                this, gameManager, uiState, headers, columns, adapters,
+                numberInputDisplay, turnCountText, timerText, resultText,
+                gameOverButtonsContainer, inputKeypadContainer,
+                callButton, deleteButton, spacerForDelete, numberKeyIds
+        );
+        presenter.bindState();
+
+        setEventListeners();
+    }
+
+    /**
+     * XML上の各UIパーツをJavaオブジェクトとして初期化します。
+     */
+    private void initViews() {
+        numberInputDisplay = findViewById(R.id.number_input_display);
+        turnCountText = findViewById(R.id.turn_count_text);
+        timerText = findViewById(R.id.timer_text);
+        boardColumnsContainer = findViewById(R.id.board_columns_container);
+        callButton = findViewById(R.id.key_call);
+        deleteButton = findViewById(R.id.key_delete);
+        spacerForDelete = findViewById(R.id.spacer_for_delete);
+        inputKeypadContainer = findViewById(R.id.input_keypad_container);
+        gameOverButtonsContainer = findViewById(R.id.game_over_buttons_container);
+        resultText = findViewById(R.id.result_text);
+    }
+
+    /**
+     * 盤面1つ分の列（見出し + 履歴）を生成します。列同士の間に区切り線の余白を設けます。
+     */
+    private LinearLayout createBoardColumn(TextView header, RecyclerView column, int board) {
+        LinearLayout container = new LinearLayout(this);
+        container.setOrientation(LinearLayout.VERTICAL);
+        LinearLayout.LayoutParams params = new LinearLayout.LayoutParams(0, LinearLayout.LayoutParams.MATCH_PARENT, 1f);
+        if (board > 0) params.leftMargin = 2;
+        container.setLayoutParams(params);
+        container.addView(header);
+        container.addView(column);
+        return container;
+    }
+
+    private TextView createBoardHeader() {
+        TextView header = new TextView(this);
+        header.setGravity(Gravity.CENTER);
+        header.setTextSize(14);
+        header.setPadding(0, 8, 0, 8);
+        header.setLayoutParams(new LinearLayout.LayoutParams(
+                LinearLayout.LayoutParams.MATCH_PARENT, LinearLayout.LayoutParams.WRAP_CONTENT));
+        return header;
+    }
+
+    /**
+     * ボタンのクリックイベントを一括で登録します。
+     */
+    private void setEventListeners() {
+        for (int id : numberKeyIds) {
+            View keyView = findViewById(id);
+            if (keyView != null) keyView.setOnClickListener(this);
+        }
+        callButton.setOnClickListener(v -> presenter.handleCall());
+        deleteButton.setOnClickListener(v -> presenter.handleDeleteInput());
+
+        findViewById(R.id.button_restart).setOnClickListener(v -> restartGame());
+        findViewById(R.id.button_main_menu).setOnClickListener(v -> backToMainMenu());
+        findViewById(R.id.button_home).setOnClickListener(v -> showHomeConfirmationDialog());
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (presenter != null) presenter.stopTimer();
+    }
+
+    /**
+     * 数字ボタン（0〜9）がクリックされた際のコールバック。
+     */
+    @Override
+    public void onClick(View v) {
+        Button b = (Button) v;
+        presenter.handleNumberInput(b.getText().toString());
+    }
+
+    /**
+     * 同じ設定でゲームを最初からやり直します。
+     */
+    private void restartGame() {
+        Intent intent = new Intent(this, MultiBoardActivity.class);
+        intent.putExtra(ModeSelectActivity.EXTRA_DIGITS, gameModeDigits);
+        intent.putExtra(ModeSelectActivity.EXTRA_BOARDS, boardCount);
+        intent.putExtra(ModeSelectActivity.EXTRA_ALLOW_REPEATS, allowRepeats);
+        finish();
+        startActivity(intent);
+    }
+
+    /**
+     * メインメニューに戻ります。
+     */
+    private void backToMainMenu() {
+        if (presenter != null) presenter.stopTimer();
+        Intent intent = new Intent(this, MainActivity.class);
+        intent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_NEW_TASK);
+        startActivity(intent);
+        finish();
+    }
+
+    /**
+     * ゲーム中の誤操作による離脱を防ぐための確認ダイアログを表示します。
+     */
+    private void showHomeConfirmationDialog() {
+        new AlertDialog.Builder(this)
+                .setTitle("ゲームを終了しますか？")
+                .setMessage("メインメニューに戻ると、現在の進行状況や経過時間はリセットされます。")
+                .setPositiveButton("キャンセル", (dialog, which) -> dialog.dismiss())
+                .setNegativeButton("戻る", (dialog, which) -> backToMainMenu())
+                .show();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.hitblow.model;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * CandidateHeatmap の差分更新による候補数を、全コードを毎回数え直した結果と突き合わせるテスト。
+ */
+public class CandidateHeatmapTest {
+
+    @Test
+    public void counts_matchBruteForce() {
+        Random random = new Random(1);
+        for (int digits = 3; digits <= 5; digits++) {
+            for (boolean allowRepeats : new boolean[] {false, true}) {
+                CodeSpace space = new CodeSpace(digits, allowRepeats);
+                int secret = space.codeAt(random.nextInt(space.size()));
+                CandidateHeatmap heatmap = new CandidateHeatmap(space);
+                HistoryStore history = new HistoryStore();
+                history.clear(digits);
+
+                String mode = digits + (allowRepeats ? "r" : "");
+                assertMatchesBruteForce(mode + " initial", space, history, heatmap);
+                for (int turn = 1; turn <= 4; turn++) {
+                    int guess = space.codeAt(random.nextInt(space.size()));
+                    int response = CodeSpace.judge(secret, guess, digits);
+                    history.add(turn, guess, CodeSpace.eatsOf(response), CodeSpace.bitesOf(response), 0L);
+                    heatmap.syncWith(history);
+                    assertMatchesBruteForce(mode + " turn " + turn, space, history, heatmap);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void syncWithWords_matchesSyncWithHistory() {
+        Random random = new Random(2);
+        for (boolean allowRepeats : new boolean[] {false, true}) {
+            CodeSpace space = new CodeSpace(4, allowRepeats);
+            int secret = space.codeAt(random.nextInt(space.size()));
+            HistoryStore history = new HistoryStore();
+            history.clear(4);
+            CandidateHeatmap fromHistory = new CandidateHeatmap(space);
+            CandidateHeatmap fromWords = new CandidateHeatmap(space);
+
+            for (int turn = 1; turn <= 5; turn++) {
+                int guess = space.codeAt(random.nextInt(space.size()));
+                int response = CodeSpace.judge(secret, guess, 4);
+                history.add(turn, guess, CodeSpace.eatsOf(response), CodeSpace.bitesOf(response), 0L);
+                fromHistory.syncWith(history);
+                // 複製を渡すたびに、まだ反映していないターンだけが反映される
+                fromWords.syncWith(wordsOf(history));
+                fromWords.syncWith(wordsOf(history));
+
+                assertEquals(fromHistory.getCandidateCount(), fromWords.getCandidateCount());
+                for (int position = 0; position < 4; position++) {
+                    for (int digit = 0; digit <= 9; digit++) {
+                        assertEquals(fromHistory.countAt(position, digit), fromWords.countAt(position, digit));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void copyProbabilities_dividesByCandidateCount() {
+        CodeSpace space = new CodeSpace(3);
+        CandidateHeatmap heatmap = new CandidateHeatmap(space);
+        heatmap.apply(0x012, CodeSpace.response(2, 0));
+
+        float[] probabilities = new float[3 * 10];
+        heatmap.copyProbabilities(probabilities);
+        for (int position = 0; position < 3; position++) {
+            float sum = 0f;
+            for (int digit = 0; digit <= 9; digit++) {
+                float expected = (float) heatmap.countAt(position, digit) / heatmap.getCandidateCount();
+                assertEquals(expected, probabilities[position * 10 + digit], 1e-6);
+                sum += probabilities[position * 10 + digit];
+            }
+            assertEquals(1.0, sum, 1e-5);
+        }
+    }
+
+    /**
+     * 全コードを走査し、履歴のすべての判定と矛盾しない候補を桁・数字ごとに数えて比較します。
+     */
+    private static void assertMatchesBruteForce(String message, CodeSpace space, HistoryStore history,
+                                                CandidateHeatmap heatmap) {
+        int digits = space.getDigits();
+        int[] counts = new int[digits * 10];
+        int candidates = 0;
+        for (int index = 0; index < space.size(); index++) {
+            int code = space.codeAt(index);
+            boolean consistent = true;
+            for (int t = 0; t < history.size() && consistent; t++) {
+                int expected = CodeSpace.response(history.eatsAt(t), history.bitesAt(t));
+                consistent = CodeSpace.judge(code, history.guessCodeAt(t), digits) == expected;
+            }
+            if (!consistent) continue;
+            candidates++;
+            String text = CodeSpace.unpack(code, digits);
+            for (int position = 0; position < digits; position++) {
+                counts[position * 10 + (text.charAt(position) - '0')]++;
+            }
+        }
+
+        assertEquals(message + " candidates", candidates, heatmap.getCandidateCount());
+        for (int position = 0; position < digits; position++) {
+            for (int digit = 0; digit <= 9; digit++) {
+                assertEquals(message + " [" + position + "][" + digit + "]",
+                        counts[position * 10 + digit], heatmap.countAt(position, digit));
+            }
+        }
+    }
+
+    private static long[] wordsOf(HistoryStore history) {
+        long[] words = new long[history.size()];
+        for (int i = 0; i < words.length; i++) words[i] = history.wordAt(i);
+        return words;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.hitblow.model;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * CodeSpace の SWAR による判定を、数字ごとに数え上げる素朴な実装と突き合わせるテスト。
+ */
+public class CodeSpaceTest {
+
+    private static final int ITERATIONS = 20000;
+
+    @Test
+    public void commonDigitCount_matchesBruteForce() {
+        Random random = new Random(1);
+        for (int digits = 1; digits <= CodeSpace.MAX_DIGITS; digits++) {
+            for (int i = 0; i < ITERATIONS; i++) {
+                int a = randomCode(random, digits, true);
+                int b = randomCode(random, digits, true);
+                long countsA = CodeSpace.digitCounts(a, digits);
+                long countsB = CodeSpace.digitCounts(b, digits);
+                String message = CodeSpace.unpack(a, digits) + " / " + CodeSpace.unpack(b, digits);
+                assertEquals(message, bruteCommon(a, b, digits), CodeSpace.commonDigitCount(countsA, countsB));
+                assertEquals(message, bruteCommon(a, b, digits), CodeSpace.commonDigitCount(countsB, countsA));
+            }
+        }
+    }
+
+    @Test
+    public void commonDigitCount_extremeLanes() {
+        for (int digits = 1; digits <= CodeSpace.MAX_DIGITS; digits++) {
+            for (int x = 0; x < 10; x++) {
+                for (int y = 0; y < 10; y++) {
+                    int a = repeat(x, digits);
+                    int b = repeat(y, digits);
+                    String message = CodeSpace.unpack(a, digits) + " / " + CodeSpace.unpack(b, digits);
+                    assertEquals(message, x == y ? digits : 0, CodeSpace.commonDigitCount(
+                            CodeSpace.digitCounts(a, digits), CodeSpace.digitCounts(b, digits)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void judge_matchesBruteForce() {
+        Random random = new Random(2);
+        for (int digits = 1; digits <= CodeSpace.MAX_DIGITS; digits++) {
+            for (boolean allowRepeats : new boolean[] {false, true}) {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    int answer = randomCode(random, digits, allowRepeats);
+                    int guess = randomCode(random, digits, allowRepeats);
+                    assertEquals(CodeSpace.unpack(answer, digits) + " / " + CodeSpace.unpack(guess, digits),
+                            bruteJudge(answer, guess, digits), CodeSpace.judge(answer, guess, digits));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void judge_exhaustiveForShortCodes() {
+        for (int digits = 1; digits <= 3; digits++) {
+            CodeSpace space = new CodeSpace(digits, true);
+            for (int a = 0; a < space.size(); a++) {
+                for (int g = 0; g < space.size(); g++) {
+                    int answer = space.codeAt(a);
+                    int guess = space.codeAt(g);
+                    assertEquals(CodeSpace.unpack(answer, digits) + " / " + CodeSpace.unpack(guess, digits),
+                            bruteJudge(answer, guess, digits), CodeSpace.judge(answer, guess, digits));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void score_matchesBruteForce() {
+        Random random = new Random(3);
+        for (int digits = 1; digits <= CodeSpace.MAX_DIGITS; digits++) {
+            for (boolean allowRepeats : new boolean[] {false, true}) {
+                CodeSpace space = new CodeSpace(digits, allowRepeats);
+                for (int i = 0; i < ITERATIONS; i++) {
+                    int answerIndex = random.nextInt(space.size());
+                    int guessIndex = random.nextInt(space.size());
+                    int answer = space.codeAt(answerIndex);
+                    int guess = space.codeAt(guessIndex);
+                    assertEquals(CodeSpace.unpack(answer, digits) + " / " + CodeSpace.unpack(guess, digits),
+                            bruteJudge(answer, guess, digits), space.score(answerIndex, guessIndex));
+                }
+            }
+        }
+    }
+
+    /**
+     * 文字列比較と数字ごとの出現数で EAT/BITE を数える、判定の素朴な実装。
+     */
+    private static int bruteJudge(int answer, int guess, int digits) {
+        String a = CodeSpace.unpack(answer, digits);
+        String g = CodeSpace.unpack(guess, digits);
+        int eats = 0;
+        for (int i = 0; i < digits; i++) {
+            if (a.charAt(i) == g.charAt(i)) eats++;
+        }
+        return CodeSpace.response(eats, bruteCommon(answer, guess, digits) - eats);
+    }
+
+    private static int bruteCommon(int a, int b, int digits) {
+        int[] countsA = new int[10];
+        int[] countsB = new int[10];
+        for (int i = 0; i < digits; i++) {
+            countsA[(a >>> (i * 4)) & 0xF]++;
+            countsB[(b >>> (i * 4)) & 0xF]++;
+        }
+        int common = 0;
+        for (int d = 0; d < 10; d++) common += Math.min(countsA[d], countsB[d]);
+        return common;
+    }
+
+    private static int randomCode(Random random, int digits, boolean allowRepeats) {
+        int code = 0;
+        int used = 0;
+        for (int i = 0; i < digits; i++) {
+            int digit;
+            do {
+                digit = random.nextInt(10);
+            } while (!allowRepeats && (used & (1 << digit)) != 0);
+            used |= 1 << digit;
+            code = (code << 4) | digit;
+        }
+        return code;
+    }
+
+    private static int repeat(int digit, int digits) {
+        int code = 0;
+        for (int i = 0; i < digits; i++) code = (code << 4) | digit;
+        return code;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.hitblow.model;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * FenwickTree の区間和と k 番目の探索を、単純な配列での計算と突き合わせるテスト。
+ */
+public class FenwickTreeTest {
+
+    @Test
+    public void prefixSum_matchesBruteForce() {
+        Random random = new Random(1);
+        for (int size : new int[] {1, 2, 7, 8, 100, 256}) {
+            FenwickTree tree = new FenwickTree(size);
+            int[] counts = new int[size];
+            for (int n = 0; n < 500; n++) {
+                int index = random.nextInt(size);
+                int delta = random.nextInt(5);
+                tree.add(index, delta);
+                counts[index] += delta;
+            }
+
+            int sum = 0;
+            assertEquals(0, tree.prefixSum(-1));
+            for (int i = 0; i < size; i++) {
+                sum += counts[i];
+                assertEquals("prefixSum(" + i + ")", sum, tree.prefixSum(i));
+                assertEquals("get(" + i + ")", counts[i], tree.get(i));
+            }
+            assertEquals(sum, tree.prefixSum(size + 10)); // 範囲外は全体の合計
+            assertEquals(sum, tree.total());
+        }
+    }
+
+    @Test
+    public void findKth_matchesBruteForce() {
+        Random random = new Random(2);
+        for (int size : new int[] {1, 3, 8, 100, 3600}) {
+            FenwickTree tree = new FenwickTree(size);
+            int[] counts = new int[size];
+            for (int n = 0; n < 300; n++) {
+                int index = random.nextInt(size);
+                tree.add(index, 1);
+                counts[index]++;
+            }
+
+            int k = 1;
+            for (int bucket = 0; bucket < size; bucket++) {
+                for (int c = 0; c < counts[bucket]; c++) {
+                    assertEquals("findKth(" + k + ")", bucket, tree.findKth(k++));
+                }
+            }
+            assertEquals(-1, tree.findKth(0));
+            assertEquals(-1, tree.findKth(tree.total() + 1));
+        }
+    }
+
+    @Test
+    public void findKth_onEmptyTree() {
+        assertEquals(-1, new FenwickTree(16).findKth(1));
+    }
+}
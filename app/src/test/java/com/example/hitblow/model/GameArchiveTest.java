@@ -0,0 +1,264 @@
+package com.example.hitblow.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * GameArchive の書き込み・読み込みと、書き込み途中で中断された末尾からの復旧を検証するテスト。
+ */
+public class GameArchiveTest {
+
+    private static final int HEADER_BYTES = 5; // magic(int) + version(byte)
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void appendedGames_roundTripAcrossCompaction() throws IOException {
+        File file = new File(folder.getRoot(), GameArchive.FILE_NAME);
+        List<GameRecord> games = randomGames(300, 1);
+        for (GameRecord game : games) GameArchive.appendQuietly(file, game);
+
+        assertGamesEqual(games, readAll(file));
+    }
+
+    @Test
+    public void appendedGames_keepFewRowGroups() throws IOException {
+        File file = new File(folder.getRoot(), GameArchive.FILE_NAME);
+        List<GameRecord> games = randomGames(300, 5);
+        for (int i = 0; i < games.size(); i++) {
+            GameArchive.appendQuietly(file, games.get(i));
+            int[] counts = groupGameCounts(file);
+            int full = (i + 1) / GameArchive.ROW_GROUP_GAMES;
+            for (int g = 0; g < full; g++) assertEquals(GameArchive.ROW_GROUP_GAMES, counts[g]);
+            assertTrue("groups after " + (i + 1) + " games: " + counts.length,
+                    counts.length < full + GameArchive.COMPACT_TAIL_GROUPS);
+        }
+        // 300件 = 満杯2つ + 残り44件（まとめ直し後に7件以下の追記分が続く）
+        int[] counts = groupGameCounts(file);
+        assertEquals(GameArchive.ROW_GROUP_GAMES, counts[0]);
+        assertEquals(GameArchive.ROW_GROUP_GAMES, counts[1]);
+        assertTrue(counts.length <= 2 + GameArchive.COMPACT_TAIL_GROUPS);
+        assertGamesEqual(games, readAll(file));
+    }
+
+    @Test
+    public void compactTail_leavesFullGroupsUntouched() throws IOException {
+        File file = new File(folder.getRoot(), GameArchive.FILE_NAME);
+        List<GameRecord> games = randomGames(140, 6);
+        for (GameRecord game : games.subList(0, 129)) GameArchive.appendQuietly(file, game);
+        byte[] before = Files.readAllBytes(file.toPath());
+        int fullGroupEnd = HEADER_BYTES + groupLength(before, HEADER_BYTES);
+
+        for (GameRecord game : games.subList(129, 140)) GameArchive.appendQuietly(file, game);
+        byte[] after = Files.readAllBytes(file.toPath());
+        assertArrayEquals(Arrays.copyOf(before, fullGroupEnd), Arrays.copyOf(after, fullGroupEnd));
+        assertGamesEqual(games, readAll(file));
+    }
+
+    @Test
+    public void interruptedCompaction_isReplayedFromJournal() throws IOException {
+        File file = new File(folder.getRoot(), GameArchive.FILE_NAME);
+        List<GameRecord> games = randomGames(GameArchive.COMPACT_TAIL_GROUPS + 1, 7);
+        for (GameRecord game : games.subList(0, GameArchive.COMPACT_TAIL_GROUPS)) {
+            try (GameArchive.Writer writer = GameArchive.Writer.open(file)) {
+                writer.append(game);
+            }
+        }
+        byte[] uncompacted = Files.readAllBytes(file.toPath());
+        try (GameArchive.Writer writer = GameArchive.Writer.open(file)) {
+            writer.compactTail();
+        }
+        byte[] compacted = Files.readAllBytes(file.toPath());
+        assertEquals(1, groupGameCounts(file).length);
+
+        // ジャーナルの同期後、アーカイブの上書きが途中で中断された状態を再現する
+        byte[] torn = uncompacted.clone();
+        System.arraycopy(compacted, HEADER_BYTES, torn, HEADER_BYTES, (compacted.length - HEADER_BYTES) / 2);
+        Files.write(file.toPath(), torn);
+        byte[] replacement = Arrays.copyOfRange(compacted, HEADER_BYTES, compacted.length);
+        try (DataOutputStream out = new DataOutputStream(
+                new FileOutputStream(new File(file.getPath() + ".journal")))) {
+            out.writeInt(GameArchive.JOURNAL_MAGIC);
+            out.writeLong(HEADER_BYTES);
+            out.writeInt(replacement.length);
+            out.write(replacement);
+            out.writeInt(replacement.length);
+        }
+
+        GameArchive.appendQuietly(file, games.get(GameArchive.COMPACT_TAIL_GROUPS));
+        assertFalse(new File(file.getPath() + ".journal").exists());
+        assertGamesEqual(games, readAll(file));
+    }
+
+    @Test
+    public void incompleteJournal_isDiscarded() throws IOException {
+        File file = new File(folder.getRoot(), GameArchive.FILE_NAME);
+        List<GameRecord> games = randomGames(3, 8);
+        for (GameRecord game : games.subList(0, 2)) GameArchive.appendQuietly(file, game);
+        try (DataOutputStream out = new DataOutputStream(
+                new FileOutputStream(new File(file.getPath() + ".journal")))) {
+            out.writeInt(GameArchive.JOURNAL_MAGIC);
+            out.writeLong(HEADER_BYTES);
+            out.writeInt(1000); // 内容が書き込まれる前に中断
+        }
+
+        GameArchive.appendQuietly(file, games.get(2));
+        assertGamesEqual(games, readAll(file));
+    }
+
+    @Test
+    public void batchWriter_roundTrip() throws IOException {
+        File file = new File(folder.getRoot(), GameArchive.FILE_NAME);
+        List<GameRecord> games = randomGames(1000, 2);
+        try (GameArchive.Writer writer = GameArchive.Writer.open(file)) {
+            for (GameRecord game : games) writer.append(game);
+        }
+
+        assertGamesEqual(games, readAll(file));
+    }
+
+    @Test
+    public void tornTail_dropsOnlyTheInterruptedAppend() throws IOException {
+        File file = new File(folder.getRoot(), GameArchive.FILE_NAME);
+        List<GameRecord> games = randomGames(301, 3);
+        for (GameRecord game : games.subList(0, 300)) GameArchive.appendQuietly(file, game);
+
+        // 最後の追記が途中で中断された状態を再現する
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 10);
+        }
+        GameArchive.appendQuietly(file, games.get(300));
+
+        List<GameRecord> expected = new ArrayList<>(games.subList(0, 299));
+        expected.add(games.get(300));
+        assertGamesEqual(expected, readAll(file));
+    }
+
+    @Test
+    public void reader_loadsOnlyRequestedColumns() throws IOException {
+        File file = new File(folder.getRoot(), GameArchive.FILE_NAME);
+        List<GameRecord> games = randomGames(200, 4);
+        for (GameRecord game : games) GameArchive.appendQuietly(file, game);
+
+        int gameCount = 0;
+        long turnSum = 0;
+        try (GameArchive.Reader reader = new GameArchive.Reader(new FileInputStream(file),
+                EnumSet.of(GameArchive.Column.TURNS))) {
+            GameArchive.RowGroup group;
+            while ((group = reader.next()) != null) {
+                for (long turns : group.column(GameArchive.Column.TURNS)) turnSum += turns;
+                gameCount += group.getGameCount();
+                try {
+                    group.column(GameArchive.Column.GUESS);
+                    fail("GUESS column should not be loaded");
+                } catch (IllegalStateException expected) {
+                    // 展開を指定していない列
+                }
+            }
+        }
+        long expectedTurns = 0;
+        for (GameRecord game : games) expectedTurns += game.size();
+        assertEquals(games.size(), gameCount);
+        assertEquals(expectedTurns, turnSum);
+    }
+
+    /**
+     * 各行グループのゲーム数を先頭から順に返します。
+     */
+    private static int[] groupGameCounts(File file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        List<Integer> counts = new ArrayList<>();
+        for (int position = HEADER_BYTES; position < bytes.length; position += groupLength(bytes, position)) {
+            counts.add(readInt(bytes, position + 4));
+        }
+        int[] result = new int[counts.size()];
+        for (int i = 0; i < result.length; i++) result[i] = counts.get(i);
+        return result;
+    }
+
+    private static int groupLength(byte[] bytes, int position) {
+        return readInt(bytes, position) + 8; // 先頭と末尾のバイト長
+    }
+
+    private static int readInt(byte[] bytes, int position) {
+        return ((bytes[position] & 0xFF) << 24) | ((bytes[position + 1] & 0xFF) << 16)
+                | ((bytes[position + 2] & 0xFF) << 8) | (bytes[position + 3] & 0xFF);
+    }
+
+    private static List<GameRecord> readAll(File file) throws IOException {
+        List<GameRecord> games = new ArrayList<>();
+        try (GameArchive.Reader reader = new GameArchive.Reader(new FileInputStream(file),
+                EnumSet.allOf(GameArchive.Column.class))) {
+            GameArchive.RowGroup group;
+            while ((group = reader.next()) != null) {
+                assertTrue(group.getGameCount() <= GameArchive.ROW_GROUP_GAMES);
+                for (GameRecord game : group.toRecords()) games.add(game);
+            }
+        }
+        return games;
+    }
+
+    private static List<GameRecord> randomGames(int count, long seed) {
+        Random random = new Random(seed);
+        long startedAt = 1_700_000_000_000L;
+        List<GameRecord> games = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int digits = 3 + random.nextInt(6);
+            boolean allowRepeats = random.nextBoolean();
+            CodeSpace space = new CodeSpace(digits, allowRepeats);
+            int secret = space.codeAt(random.nextInt(space.size()));
+            int turns = 1 + random.nextInt(12);
+            int[] guesses = new int[turns];
+            int[] responses = new int[turns];
+            long[] turnMillis = new long[turns];
+            long elapsed = 0;
+            for (int t = 0; t < turns; t++) {
+                guesses[t] = space.codeAt(random.nextInt(space.size()));
+                responses[t] = CodeSpace.judge(secret, guesses[t], digits);
+                elapsed += random.nextInt(20000);
+                turnMillis[t] = elapsed;
+            }
+            startedAt += random.nextInt(600000);
+            games.add(new GameRecord(digits, allowRepeats, secret, startedAt, elapsed + random.nextInt(3000),
+                    guesses, responses, turnMillis));
+        }
+        return games;
+    }
+
+    private static void assertGamesEqual(List<GameRecord> expected, List<GameRecord> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            GameRecord e = expected.get(i);
+            GameRecord a = actual.get(i);
+            assertEquals("digits #" + i, e.digits, a.digits);
+            assertEquals("allowRepeats #" + i, e.allowRepeats, a.allowRepeats);
+            assertEquals("secret #" + i, e.secret, a.secret);
+            assertEquals("startedAt #" + i, e.startedAtMillis, a.startedAtMillis);
+            assertEquals("totalMillis #" + i, e.totalMillis, a.totalMillis);
+            assertArrayEquals(e.guesses, a.guesses);
+            assertArrayEquals(e.responses, a.responses);
+            assertArrayEquals(e.turnMillis, a.turnMillis);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.hitblow.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * HistoryStore の詰め込み形式の変換、配列の拡張、clear() 後のキャッシュの扱いを検証するテスト。
+ */
+public class HistoryStoreTest {
+
+    @Test
+    public void pack_roundTripsEveryField() {
+        int[] turns = {0, 1, 99, 0xFFFFFF};
+        int[] codes = {0, 0x0123, 0x98765432, 0xFFFFFFFF, 0x80000000};
+        for (int turn : turns) {
+            for (int code : codes) {
+                for (int eats = 0; eats <= CodeSpace.MAX_DIGITS; eats++) {
+                    for (int bites = 0; bites <= CodeSpace.MAX_DIGITS - eats; bites++) {
+                        long word = HistoryStore.pack(turn, code, eats, bites);
+                        assertEquals(turn, HistoryStore.turnOf(word));
+                        assertEquals(code, HistoryStore.guessCodeOf(word));
+                        assertEquals(eats, HistoryStore.eatsOf(word));
+                        assertEquals(bites, HistoryStore.bitesOf(word));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void add_growsPastInitialCapacity() {
+        HistoryStore store = new HistoryStore();
+        store.clear(8);
+        int count = 100;
+        for (int i = 0; i < count; i++) {
+            store.add(i + 1, codeFor(i), i % 9, (i / 9) % 9, 1000L + i);
+        }
+
+        assertEquals(count, store.size());
+        HistoryStore.Cursor cursor = store.cursor();
+        for (int i = 0; i < count; i++) {
+            assertEquals(i + 1, store.turnAt(i));
+            assertEquals(codeFor(i), store.guessCodeAt(i));
+            assertEquals(i % 9, store.eatsAt(i));
+            assertEquals((i / 9) % 9, store.bitesAt(i));
+            assertEquals(1000L + i, store.timestampAt(i));
+            assertEquals(CodeSpace.unpack(codeFor(i), 8), store.guessAt(i));
+
+            assertTrue(cursor.moveToNext());
+            assertEquals(i, cursor.position());
+            assertEquals(i + 1, cursor.turn());
+            assertEquals(codeFor(i), cursor.guessCode());
+            assertEquals(1000L + i, cursor.timestamp());
+        }
+        assertFalse(cursor.moveToNext());
+
+        List<GameManager.HistoryEntry> entries = store.asEntryList();
+        assertEquals(count, entries.size());
+        GameManager.HistoryEntry last = entries.get(count - 1);
+        assertEquals(count, last.turn);
+        assertEquals(CodeSpace.unpack(codeFor(count - 1), 8), last.guess);
+        assertSame(last, entries.get(count - 1));
+    }
+
+    @Test
+    public void clear_resetsEntryCache() {
+        HistoryStore store = new HistoryStore();
+        store.clear(4);
+        store.add(1, 0x0123, 1, 2, 0L);
+        GameManager.HistoryEntry before = store.asEntryList().get(0);
+        assertEquals("0123", before.guess);
+
+        store.clear(3);
+        assertTrue(store.isEmpty());
+        assertEquals(3, store.getDigits());
+        store.add(1, 0x0456, 0, 3, 0L);
+
+        GameManager.HistoryEntry after = store.asEntryList().get(0);
+        assertNotSame(before, after);
+        assertEquals("456", after.guess);
+        assertEquals(0, after.eats);
+        assertEquals(3, after.bites);
+    }
+
+    @Test
+    public void clear_hidesOldRows() {
+        HistoryStore store = new HistoryStore();
+        store.clear(4);
+        store.add(1, 0x0123, 1, 2, 0L);
+        store.clear(4);
+        assertEquals(0, store.asEntryList().size());
+        try {
+            store.asEntryList().get(0);
+            fail("cleared rows should not be readable");
+        } catch (IndexOutOfBoundsException expected) {
+            // クリア前の行は参照できない
+        }
+    }
+
+    private static int codeFor(int i) {
+        // 先頭の桁が8・9になる（int の符号bitが立つ）コードも含むよう、桁ごとに数字をずらす
+        int code = 0;
+        for (int position = 0; position < 8; position++) code = (code << 4) | (i + position) % 10;
+        return code;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.hitblow.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Leaderboard のバケット集計・ページ取得・保存と、順位計算を全記録の走査と突き合わせるテスト。
+ */
+public class LeaderboardTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void record_clampsToLastBucket() {
+        Leaderboard board = Leaderboard.load(folder.getRoot(), 4);
+        board.record(300, 5_000_000L); // 256ターン・3600秒を超える記録
+        board.record(255, 3_599_999L);
+        board.record(0, 0L);
+
+        assertArrayEquals(new int[] {0, 255, 255}, board.topPage(Leaderboard.Metric.TURNS, 0, 10));
+        assertArrayEquals(new int[] {0, 3599, 3599}, board.topPage(Leaderboard.Metric.TIME, 0, 10));
+        assertEquals(2, board.rankOf(Leaderboard.Metric.TURNS, 1000));
+        assertEquals(2, board.rankOf(Leaderboard.Metric.TIME, 7200));
+        assertEquals(1, board.rankOf(Leaderboard.Metric.TURNS, -5));
+    }
+
+    @Test
+    public void topPage_truncatesAtTotal() {
+        Leaderboard board = Leaderboard.load(folder.getRoot(), 4);
+        int[] turns = {7, 3, 5, 3, 9, 5, 5};
+        for (int t : turns) board.record(t, 60_000L);
+
+        assertArrayEquals(new int[] {3, 3, 5}, board.topPage(Leaderboard.Metric.TURNS, 0, 3));
+        assertArrayEquals(new int[] {5, 5, 7}, board.topPage(Leaderboard.Metric.TURNS, 3, 3));
+        assertArrayEquals(new int[] {9}, board.topPage(Leaderboard.Metric.TURNS, 6, 3));
+        assertArrayEquals(new int[0], board.topPage(Leaderboard.Metric.TURNS, 7, 3));
+        assertArrayEquals(new int[0], board.topPage(Leaderboard.Metric.TURNS, 20, 3));
+        assertArrayEquals(new int[0], board.topPage(Leaderboard.Metric.TURNS, 0, 0));
+    }
+
+    @Test
+    public void save_reloadsFromRenamedFile() {
+        File dir = folder.getRoot();
+        Leaderboard board = Leaderboard.load(dir, 5, true);
+        board.record(6, 45_000L);
+        board.record(4, 130_500L);
+
+        assertTrue(new File(dir, "leaderboard_5r.bin").exists());
+        assertFalse(new File(dir, "leaderboard_5r.bin.tmp").exists());
+        assertEquals(0, Leaderboard.load(dir, 5).size()); // 重複なしルールは別のランキング
+
+        Leaderboard reloaded = Leaderboard.load(dir, 5, true);
+        assertEquals(2, reloaded.size());
+        assertArrayEquals(new int[] {4, 6}, reloaded.topPage(Leaderboard.Metric.TURNS, 0, 10));
+        assertArrayEquals(new int[] {45, 130}, reloaded.topPage(Leaderboard.Metric.TIME, 0, 10));
+    }
+
+    @Test
+    public void load_ignoresCorruptFile() throws IOException {
+        File dir = folder.getRoot();
+        try (FileOutputStream out = new FileOutputStream(new File(dir, "leaderboard_3.bin"))) {
+            out.write(new byte[] {1, 2, 3});
+        }
+        Leaderboard board = Leaderboard.load(dir, 3);
+        assertEquals(0, board.size());
+        assertEquals(-1, board.bestOf(Leaderboard.Metric.TURNS));
+    }
+
+    @Test
+    public void rankAndPercent_matchBruteForce() {
+        Random random = new Random(3);
+        Leaderboard board = Leaderboard.load(folder.getRoot(), 4);
+        List<Integer> turns = new ArrayList<>();
+        List<Integer> seconds = new ArrayList<>();
+        for (int n = 0; n < 200; n++) {
+            int t = 1 + random.nextInt(20);
+            long millis = random.nextInt(600_000);
+            board.record(t, millis);
+            turns.add(t);
+            seconds.add(Leaderboard.toSeconds(millis));
+        }
+
+        for (int value = 0; value <= 25; value++) {
+            checkRank(board, Leaderboard.Metric.TURNS, turns, value);
+        }
+        for (int value = 0; value <= 700; value += 7) {
+            checkRank(board, Leaderboard.Metric.TIME, seconds, value);
+        }
+        assertEquals(min(turns), board.bestOf(Leaderboard.Metric.TURNS));
+        assertEquals(min(seconds), board.bestOf(Leaderboard.Metric.TIME));
+
+        int[] sorted = toSortedArray(seconds);
+        assertArrayEquals(Arrays.copyOfRange(sorted, 50, 80), board.topPage(Leaderboard.Metric.TIME, 50, 30));
+    }
+
+    @Test
+    public void topPercent_ofEmptyBoard() {
+        assertEquals(100.0, Leaderboard.load(folder.getRoot(), 4).topPercentOf(Leaderboard.Metric.TURNS, 5), 0.0);
+    }
+
+    /**
+     * 自分より良い（小さい）記録の件数 + 1 を順位として、全記録の走査結果と比較します。
+     */
+    private static void checkRank(Leaderboard board, Leaderboard.Metric metric, List<Integer> values, int value) {
+        int better = 0;
+        for (int v : values) {
+            if (v < value) better++;
+        }
+        assertEquals(metric + " rankOf(" + value + ")", better + 1, board.rankOf(metric, value));
+        assertEquals(metric + " topPercentOf(" + value + ")", 100.0 * (better + 1) / values.size(),
+                board.topPercentOf(metric, value), 1e-9);
+    }
+
+    private static int min(List<Integer> values) {
+        int min = Integer.MAX_VALUE;
+        for (int v : values) min = Math.min(min, v);
+        return min;
+    }
+
+    private static int[] toSortedArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) array[i] = values.get(i);
+        Arrays.sort(array);
+        return array;
+    }
+}
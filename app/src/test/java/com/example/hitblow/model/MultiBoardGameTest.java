@@ -0,0 +1,90 @@
+package com.example.hitblow.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * MultiBoardGame の判定と、GameManager#processMultiBoardCall が返す変更盤面のビットマスクを検証するテスト。
+ */
+public class MultiBoardGameTest {
+
+    @Test
+    public void call_returnsUnsolvedBoardsAndRecordsResponses() {
+        MultiBoardGame game = new MultiBoardGame(4, 4, false, new Random(1));
+        int miss = missingCode(game);
+        assertEquals(0b1111, game.call(miss));
+        for (int b = 0; b < 4; b++) {
+            int secret = CodeSpace.pack(game.getSecret(b));
+            assertEquals(CodeSpace.judge(secret, miss, 4), game.responseAt(0, b));
+        }
+
+        // 正解した盤面は、そのターンには行が追加され、次のターンからは外れる
+        assertEquals(0b1111, game.call(CodeSpace.pack(game.getSecret(2))));
+        assertTrue(game.isSolved(2));
+        assertEquals(2, game.getSolvedTurn(2));
+        assertEquals(0b1011, game.call(miss));
+        assertEquals(2, game.rowCount(2));
+        assertEquals(3, game.rowCount(0));
+    }
+
+    @Test
+    public void processMultiBoardCall_returnsChangedBoards() {
+        GameManager manager = GameManager.getInstance();
+        manager.setupMultiBoardGame(3, 3, false);
+        MultiBoardGame game = manager.getMultiBoardGame();
+
+        assertEquals(0b111, manager.processMultiBoardCall(game.getSecret(1)));
+        assertEquals(0b101, manager.processMultiBoardCall(game.getSecret(0)));
+        assertEquals(0b100, manager.processMultiBoardCall(game.getSecret(2)));
+        assertTrue(game.isAllSolved());
+        assertEquals(3, game.getTurnCount());
+    }
+
+    @Test
+    public void processMultiBoardCall_rejectsInvalidInput() {
+        GameManager manager = GameManager.getInstance();
+        manager.setupMultiBoardGame(3, 2, false);
+        MultiBoardGame game = manager.getMultiBoardGame();
+
+        for (String guess : new String[] {"", "12", "1234", "112"}) {
+            assertEquals("guess: " + guess, 0, manager.processMultiBoardCall(guess));
+        }
+        assertEquals(0, game.getTurnCount());
+        assertEquals(0, game.getSolvedMask());
+    }
+
+    @Test
+    public void processMultiBoardCall_ignoresCallsAfterAllSolved() {
+        GameManager manager = GameManager.getInstance();
+        manager.setupMultiBoardGame(3, 2, true);
+        MultiBoardGame game = manager.getMultiBoardGame();
+        manager.processMultiBoardCall(game.getSecret(0));
+        manager.processMultiBoardCall(game.getSecret(1));
+        assertTrue(game.isAllSolved());
+
+        assertEquals(0, manager.processMultiBoardCall(game.getSecret(0)));
+        assertEquals(0, manager.processMultiBoardCall("000"));
+        assertEquals(2, game.getTurnCount());
+        assertEquals(0b11, game.getSolvedMask());
+        assertEquals(1, game.rowCount(0));
+    }
+
+    /**
+     * どの盤面の正解でもない推測コードを返します。
+     */
+    private static int missingCode(MultiBoardGame game) {
+        CodeSpace space = new CodeSpace(game.getDigits(), game.isRepeatsAllowed());
+        for (int index = 0; ; index++) {
+            int code = space.codeAt(index);
+            boolean secret = false;
+            for (int b = 0; b < game.getBoardCount(); b++) {
+                secret |= CodeSpace.unpack(code, game.getDigits()).equals(game.getSecret(b));
+            }
+            if (!secret) return code;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.hitblow.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import com.example.hitblow.solver.PuzzleGenerator;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PuzzlePackWriter で書き出したパックを PuzzlePack.Reader で読み戻せることを検証するテスト。
+ */
+public class PuzzlePackTest {
+
+    @Test
+    public void generatedPuzzles_roundTrip() throws IOException {
+        for (int digits = 3; digits <= 4; digits++) {
+            List<Puzzle> puzzles = new PuzzleGenerator(new CodeSpace(digits)).generate(20, digits);
+            byte[] pack = write(digits, puzzles);
+
+            try (PuzzlePack.Reader reader = new PuzzlePack.Reader(new ByteArrayInputStream(pack))) {
+                assertEquals(digits, reader.getDigits());
+                assertEquals(puzzles.size(), reader.getCount());
+                for (Puzzle expected : puzzles) assertPuzzleEquals(expected, reader.next());
+                assertNull(reader.next());
+            }
+        }
+    }
+
+    @Test
+    public void wideCodes_roundTrip() throws IOException {
+        // 8桁のコードは4バイトいっぱいに格納され、先頭の桁が8以上だと int の符号bitが立つ
+        List<Puzzle> puzzles = new ArrayList<>();
+        puzzles.add(new Puzzle(8, 0x98765432, new int[] {0x01234567, 0x89012345},
+                new int[] {CodeSpace.response(0, 4), CodeSpace.response(2, 6)}));
+        puzzles.add(new Puzzle(8, 0x01234567, new int[0], new int[0]));
+        byte[] pack = write(8, puzzles);
+
+        try (PuzzlePack.Reader reader = new PuzzlePack.Reader(new ByteArrayInputStream(pack))) {
+            for (Puzzle expected : puzzles) assertPuzzleEquals(expected, reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void skip_resumesAtLaterPuzzle() throws IOException {
+        List<Puzzle> puzzles = new PuzzleGenerator(new CodeSpace(4)).generate(10, 7);
+        byte[] pack = write(4, puzzles);
+
+        try (PuzzlePack.Reader reader = new PuzzlePack.Reader(new ByteArrayInputStream(pack))) {
+            reader.skip(6);
+            for (Puzzle expected : puzzles.subList(6, 10)) assertPuzzleEquals(expected, reader.next());
+            assertNull(reader.next());
+        }
+        try (PuzzlePack.Reader reader = new PuzzlePack.Reader(new ByteArrayInputStream(pack))) {
+            reader.skip(100); // 問題数を超えた分は無視される
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void reader_rejectsOtherFormats() {
+        try {
+            new PuzzlePack.Reader(new ByteArrayInputStream(new byte[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9}));
+            fail("should reject unknown magic");
+        } catch (IOException expected) {
+            // パズルパックではないファイル
+        }
+    }
+
+    @Test
+    public void writer_rejectsCountMismatch() throws IOException {
+        Puzzle puzzle = new Puzzle(3, 0x012, new int[] {0x345}, new int[] {CodeSpace.response(0, 0)});
+        PuzzlePackWriter writer = new PuzzlePackWriter(new ByteArrayOutputStream(), 3, 2);
+        writer.write(puzzle);
+        try {
+            writer.close();
+            fail("should report the missing puzzle");
+        } catch (IOException expected) {
+            // 宣言した問題数より少ない
+        }
+    }
+
+    private static byte[] write(int digits, List<Puzzle> puzzles) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PuzzlePackWriter writer = new PuzzlePackWriter(bytes, digits, puzzles.size())) {
+            for (Puzzle puzzle : puzzles) writer.write(puzzle);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void assertPuzzleEquals(Puzzle expected, Puzzle actual) {
+        assertEquals(expected.digits, actual.digits);
+        assertEquals(expected.secret, actual.secret);
+        assertArrayEquals(expected.guesses, actual.guesses);
+        assertArrayEquals(expected.responses, actual.responses);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.hitblow.solver;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import com.example.hitblow.model.CodeSpace;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * StrategyVerifier の全探索の結果を、正解ごとに1ゲームずつ対戦させた結果と突き合わせるテスト。
+ */
+public class StrategyVerifierTest {
+
+    @Test
+    public void firstCandidate_histogramMatchesPlayedGames() {
+        for (boolean allowRepeats : new boolean[] {false, true}) {
+            CodeSpace space = new CodeSpace(3, allowRepeats);
+            GuessStrategy strategy = new FirstCandidateStrategy();
+            StrategyVerifier.Report report = new StrategyVerifier(space, strategy).verify();
+
+            assertEquals(space.size(), report.secrets);
+            long[] expected = new long[report.histogram.length];
+            for (int secret = 0; secret < space.size(); secret++) {
+                expected[play(space, strategy, secret)]++;
+            }
+            assertArrayEquals(expected, report.histogram);
+        }
+    }
+
+    @Test
+    public void report_doesNotShareHistogram() {
+        CodeSpace space = new CodeSpace(3);
+        StrategyVerifier verifier = new StrategyVerifier(space, new FirstCandidateStrategy());
+        StrategyVerifier.Report first = verifier.verify();
+        first.histogram[1] = -1;
+        assertEquals(1, verifier.verify().histogram[1]);
+    }
+
+    /**
+     * 戦略の推測で1ゲーム対戦し、正解するまでのターン数を返します。
+     */
+    private static int play(CodeSpace space, GuessStrategy strategy, int secret) {
+        int[] candidates = new int[space.size()];
+        for (int i = 0; i < candidates.length; i++) candidates[i] = i;
+        for (int turn = 1; ; turn++) {
+            int guess = strategy.selectGuess(space, candidates);
+            int response = space.score(secret, guess);
+            if (response == space.solvedResponse()) return turn;
+            int count = 0;
+            for (int candidate : candidates) {
+                if (space.score(candidate, guess) == response) candidates[count++] = candidate;
+            }
+            candidates = Arrays.copyOf(candidates, count);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.hitblow.solver;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import com.example.hitblow.model.CodeSpace;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SymmetryReducer の同値類が、推測の評価を変えない分け方になっていることを検証するテスト。
+ */
+public class SymmetryReducerTest {
+
+    @Test
+    public void sameClass_givesSameResponsePartition() {
+        checkPartitions(new CodeSpace(4, false), new int[0]);
+        checkPartitions(new CodeSpace(4, false), new int[] {0x0123});
+        checkPartitions(new CodeSpace(4, false), new int[] {0x0123, 0x1045});
+        checkPartitions(new CodeSpace(3, true), new int[0]);
+        checkPartitions(new CodeSpace(3, true), new int[] {0x001});
+        checkPartitions(new CodeSpace(3, true), new int[] {0x001, 0x234});
+    }
+
+    @Test
+    public void multiplicities_sumToCodeSpaceSize() {
+        for (int digits = 1; digits <= 5; digits++) {
+            for (boolean allowRepeats : new boolean[] {false, true}) {
+                CodeSpace space = new CodeSpace(digits, allowRepeats);
+                SymmetryReducer reducer = new SymmetryReducer(space);
+                assertEquals(space.size(), totalMultiplicity(reducer.reduce()));
+                reducer.addGuess(space.codeAt(space.size() / 3));
+                assertEquals(space.size(), totalMultiplicity(reducer.reduce()));
+            }
+        }
+    }
+
+    /**
+     * 仮の正解に対して履歴を作り、同じ正規形を持つ推測どうしで、
+     * 履歴と矛盾しない候補の判定結果ごとの件数（分布）が一致することを確かめます。
+     */
+    private static void checkPartitions(CodeSpace space, int[] guesses) {
+        int digits = space.getDigits();
+        int secret = space.codeAt(space.size() - 1);
+        SymmetryReducer reducer = new SymmetryReducer(space);
+        int[] responses = new int[guesses.length];
+        for (int t = 0; t < guesses.length; t++) {
+            reducer.addGuess(guesses[t]);
+            responses[t] = CodeSpace.judge(secret, guesses[t], digits);
+        }
+
+        int[] candidates = new int[space.size()];
+        int candidateCount = 0;
+        for (int index = 0; index < space.size(); index++) {
+            int code = space.codeAt(index);
+            int t = 0;
+            while (t < guesses.length && CodeSpace.judge(code, guesses[t], digits) == responses[t]) t++;
+            if (t == guesses.length) candidates[candidateCount++] = code;
+        }
+
+        Map<Integer, int[]> partitionOfClass = new HashMap<>();
+        for (int index = 0; index < space.size(); index++) {
+            int guess = space.codeAt(index);
+            int[] partition = new int[space.responseSlots()];
+            for (int c = 0; c < candidateCount; c++) {
+                partition[CodeSpace.judge(candidates[c], guess, digits)]++;
+            }
+            int[] expected = partitionOfClass.putIfAbsent(reducer.canonicalize(guess), partition);
+            if (expected != null) assertArrayEquals(expected, partition);
+        }
+        assertEquals(partitionOfClass.size(), reducer.reduce().size());
+    }
+
+    private static long totalMultiplicity(SymmetryReducer.GuessClasses classes) {
+        long total = 0;
+        for (int c = 0; c < classes.size(); c++) total += classes.multiplicityAt(c);
+        return total;
+    }
+}
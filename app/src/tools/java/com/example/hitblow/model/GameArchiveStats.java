@@ -0,0 +1,54 @@
+package com.example.hitblow.model;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 解析用アーカイブ（GameArchive）を集計するツール。
+ * 必要な列だけを展開するため、推測などの大きな列は読み飛ばします。
+ *
+ * <p>JVM 上で単体実行します: {@code GameArchiveStats <アーカイブファイル>}</p>
+ */
+public class GameArchiveStats {
+
+    private GameArchiveStats() {
+    }
+
+    /**
+     * アーカイブのモード・ターン数・クリア時間の列だけを読み、モードごとに集計して表示します。
+     * 例: {@code GameArchiveStats game_archive.hbga}
+     */
+    public static void main(String[] args) throws IOException {
+        Set<GameArchive.Column> columns = EnumSet.of(GameArchive.Column.MODE, GameArchive.Column.TURNS,
+                GameArchive.Column.TOTAL_MILLIS);
+        Map<Long, long[]> totals = new TreeMap<>(); // モード → {ゲーム数, ターン数合計, 時間合計}
+        long start = System.nanoTime();
+        try (GameArchive.Reader reader = new GameArchive.Reader(new FileInputStream(args[0]), columns)) {
+            GameArchive.RowGroup group;
+            while ((group = reader.next()) != null) {
+                long[] modes = group.column(GameArchive.Column.MODE);
+                long[] turns = group.column(GameArchive.Column.TURNS);
+                long[] millis = group.column(GameArchive.Column.TOTAL_MILLIS);
+                for (int g = 0; g < group.getGameCount(); g++) {
+                    long[] total = totals.computeIfAbsent(modes[g], mode -> new long[3]);
+                    total[0]++;
+                    total[1] += turns[g];
+                    total[2] += millis[g];
+                }
+            }
+        }
+        for (Map.Entry<Long, long[]> entry : totals.entrySet()) {
+            int mode = entry.getKey().intValue();
+            long[] total = entry.getValue();
+            System.out.printf(Locale.US, "%d digits%s: games=%d average turns=%.2f average time=%.1fs%n",
+                    GameArchive.digitsOfMode(mode), GameArchive.isRepeatsMode(mode) ? " (repeats)" : "", total[0],
+                    (double) total[1] / total[0], total[2] / 1000.0 / total[0]);
+        }
+        System.out.printf(Locale.US, "(%.1fs)%n", (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.hitblow.model;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * パズルを PuzzlePack 形式で順に書き出すライター（生成ツール用）。
+ * ヘッダーに問題数を書くため、書き込む問題数はあらかじめ指定します。
+ */
+public class PuzzlePackWriter implements Closeable {
+    private final DataOutputStream out;
+    private final int digits;
+    private final int codeBytes;
+    private int remaining;
+
+    public PuzzlePackWriter(OutputStream stream, int digits, int count) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(stream));
+        this.digits = digits;
+        this.codeBytes = PuzzlePack.codeBytes(digits);
+        this.remaining = count;
+        out.writeInt(PuzzlePack.MAGIC);
+        out.writeByte(PuzzlePack.VERSION);
+        out.writeByte(digits);
+        out.writeInt(count);
+    }
+
+    public void write(Puzzle puzzle) throws IOException {
+        if (remaining-- <= 0) throw new IllegalStateException("More puzzles than declared");
+        if (puzzle.digits != digits) throw new IllegalArgumentException("Digits mismatch: " + puzzle.digits);
+        out.writeByte(puzzle.size());
+        writeCode(puzzle.secret);
+        for (int i = 0; i < puzzle.size(); i++) {
+            writeCode(puzzle.guesses[i]);
+            out.writeByte(puzzle.responses[i]);
+        }
+    }
+
+    private void writeCode(int code) throws IOException {
+        for (int shift = (codeBytes - 1) * 8; shift >= 0; shift -= 8) {
+            out.writeByte(code >>> shift);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+        if (remaining != 0) throw new IOException("Puzzle count mismatch: " + remaining + " left");
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.hitblow.solver;
+
+import com.example.hitblow.model.CodeSpace;
+
+/**
+ * 残り候補のうち最も小さいコードをそのまま推測する、最も単純な戦略。
+ * 人間のプレイヤーが「矛盾しない数字を順に試す」場合に相当します。
+ */
+public class FirstCandidateStrategy implements GuessStrategy {
+
+    @Override
+    public int selectGuess(CodeSpace space, int[] candidates) {
+        return candidates[0];
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.hitblow.solver;
+
+import com.example.hitblow.model.CodeSpace;
+
+/**
+ * 残り候補から次に推測するコードを選ぶ戦略のインターフェース。
+ * StrategyVerifier で全探索するため、同じ候補集合に対しては常に同じ推測を返す（決定的である）必要があります。
+ */
+public interface GuessStrategy {
+
+    /**
+     * 次に推測するコードを選びます。
+     *
+     * @param space      コード空間
+     * @param candidates 残り候補のインデックス（昇順、1件以上）
+     * @return 推測するコードのインデックス（候補外のコードでもよい）
+     */
+    int selectGuess(CodeSpace space, int[] candidates);
+}
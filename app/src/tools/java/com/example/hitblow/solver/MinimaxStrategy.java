@@ -0,0 +1,37 @@
+package com.example.hitblow.solver;
+
+import com.example.hitblow.model.CodeSpace;
+
+import java.util.Arrays;
+
+/**
+ * 判定結果ごとに分かれる候補グループのうち、最大のグループが最も小さくなる候補を推測する戦略（Knuth方式）。
+ * 推測は残り候補の中から選び、同点の場合はインデックスの小さい方を採用します。
+ */
+public class MinimaxStrategy implements GuessStrategy {
+
+    @Override
+    public int selectGuess(CodeSpace space, int[] candidates) {
+        int[] groupSizes = new int[space.responseSlots()];
+        int bestGuess = candidates[0];
+        int bestWorst = Integer.MAX_VALUE;
+
+        for (int guess : candidates) {
+            Arrays.fill(groupSizes, 0);
+            int worst = 0;
+            for (int answer : candidates) {
+                int size = ++groupSizes[space.score(answer, guess)];
+                if (size > worst) {
+                    worst = size;
+                    // 現時点の最良値以上になった時点で打ち切り
+                    if (worst >= bestWorst) break;
+                }
+            }
+            if (worst < bestWorst) {
+                bestWorst = worst;
+                bestGuess = guess;
+            }
+        }
+        return bestGuess;
+    }
+}
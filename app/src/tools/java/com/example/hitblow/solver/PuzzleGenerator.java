@@ -0,0 +1,167 @@
+package com.example.hitblow.solver;
+
+import com.example.hitblow.model.CodeSpace;
+import com.example.hitblow.model.Puzzle;
+import com.example.hitblow.model.PuzzlePackWriter;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 推理パズル（提示された推測と判定結果から正解を1つに絞り込む問題）を一括生成するツール。
+ *
+ * <p>「推測 g に判定 r が返る」という条件を満たすコードの集合をビットセットで表し、
+ * 条件の積（AND）で候補を絞り込みます。まず貪欲法で候補が1つになるまで推測を追加し、
+ * その後、取り除いても候補が1つのままの推測を削ることで、最小限の推測だけが残るようにします。
+ * 条件ごとのビットセットはキャッシュして各問題で共有し、問題の生成は並列に行います。
+ * キャッシュは件数ではなくビットセットの合計サイズで上限を決めるため、桁数が増えてもメモリ使用量は一定です。</p>
+ *
+ * <p>JVM 上で単体実行できます: {@code PuzzleGenerator <桁数> <問題数> <出力ファイル> [seed]}</p>
+ */
+public class PuzzleGenerator {
+    private static final int MAX_GUESSES = 12;    // 1問あたりの推測数の上限
+    private static final int GUESS_SAMPLES = 48;  // 推測を1つ追加する際に比較する候補数
+    private static final long CONSTRAINT_CACHE_BYTES = 16L << 20; // 条件キャッシュの上限（約16MB）
+
+    private final CodeSpace space;
+    private final int maxCachedConstraints; // ビットセット1つの大きさから求めた、キャッシュする条件の数
+    private final ConcurrentHashMap<Integer, BitSet> constraintCache = new ConcurrentHashMap<>();
+
+    public PuzzleGenerator(CodeSpace space) {
+        this.space = space;
+        long bitSetBytes = (space.size() + Long.SIZE - 1) / Long.SIZE * (long) Long.BYTES;
+        this.maxCachedConstraints = (int) Math.max(1, CONSTRAINT_CACHE_BYTES / bitSetBytes);
+    }
+
+    /**
+     * 問題を並列に生成します。同じ seed からは常に同じ問題集が得られます。
+     *
+     * @param count 問題数
+     * @param seed  乱数のシード
+     * @return 生成された問題（seed と番号の順）
+     */
+    public List<Puzzle> generate(int count, long seed) {
+        return IntStream.range(0, count)
+                .parallel()
+                .mapToObj(i -> generateOne(new Random(seed * 31 + i)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 1問を生成します。候補が1つに絞り切れなかった場合は正解を選び直します。
+     */
+    Puzzle generateOne(Random random) {
+        while (true) {
+            int secret = random.nextInt(space.size());
+            List<Integer> guesses = findUniquelyDeterminingGuesses(secret, random);
+            if (guesses == null) continue;
+
+            minimize(secret, guesses);
+            int[] guessCodes = new int[guesses.size()];
+            int[] responses = new int[guesses.size()];
+            for (int i = 0; i < guesses.size(); i++) {
+                guessCodes[i] = space.codeAt(guesses.get(i));
+                responses[i] = space.score(secret, guesses.get(i));
+            }
+            return new Puzzle(space.getDigits(), space.codeAt(secret), guessCodes, responses);
+        }
+    }
+
+    /**
+     * 候補が正解1つになるまで、最も候補を減らす推測を貪欲に追加します。
+     *
+     * @return 推測のインデックス。上限までに絞り切れない場合は null
+     */
+    private List<Integer> findUniquelyDeterminingGuesses(int secret, Random random) {
+        BitSet candidates = new BitSet(space.size());
+        candidates.set(0, space.size());
+        List<Integer> guesses = new ArrayList<>();
+
+        while (candidates.cardinality() > 1) {
+            if (guesses.size() >= MAX_GUESSES) return null;
+
+            BitSet best = null;
+            int bestGuess = -1;
+            for (int k = 0; k < GUESS_SAMPLES; k++) {
+                int guess = random.nextInt(space.size());
+                if (guess == secret || guesses.contains(guess)) continue;
+
+                BitSet next = (BitSet) candidates.clone();
+                next.and(constraint(guess, space.score(secret, guess)));
+                if (best == null || next.cardinality() < best.cardinality()) {
+                    best = next;
+                    bestGuess = guess;
+                }
+            }
+            if (best == null) continue;
+            candidates = best;
+            guesses.add(bestGuess);
+        }
+        return guesses;
+    }
+
+    /**
+     * 取り除いても正解が一意に定まる推測を順に削除します。
+     */
+    private void minimize(int secret, List<Integer> guesses) {
+        for (int i = guesses.size() - 1; i >= 0 && guesses.size() > 1; i--) {
+            BitSet candidates = new BitSet(space.size());
+            candidates.set(0, space.size());
+            for (int j = 0; j < guesses.size(); j++) {
+                if (j == i) continue;
+                int guess = guesses.get(j);
+                candidates.and(constraint(guess, space.score(secret, guess)));
+            }
+            if (candidates.cardinality() == 1) guesses.remove(i);
+        }
+    }
+
+    /**
+     * 「推測 guess に対して判定 response が返る」正解コードの集合を返します。
+     * 返されるビットセットは共有されるため、呼び出し側で変更してはいけません。
+     */
+    private BitSet constraint(int guess, int response) {
+        Integer key = guess * space.responseSlots() + response;
+        BitSet cached = constraintCache.get(key);
+        if (cached != null) return cached;
+
+        BitSet set = new BitSet(space.size());
+        for (int answer = 0; answer < space.size(); answer++) {
+            if (space.score(answer, guess) == response) set.set(answer);
+        }
+        if (constraintCache.size() < maxCachedConstraints) constraintCache.putIfAbsent(key, set);
+        return set;
+    }
+
+    /**
+     * コマンドラインから問題集を生成し、パズルパックとして書き出します。
+     * 例: {@code PuzzleGenerator 4 1000 puzzles_4.bin}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("usage: PuzzleGenerator <digits> <count> <output> [seed]");
+            return;
+        }
+        int digits = Integer.parseInt(args[0]);
+        int count = Integer.parseInt(args[1]);
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+
+        long start = System.nanoTime();
+        List<Puzzle> puzzles = new PuzzleGenerator(new CodeSpace(digits)).generate(count, seed);
+        try (PuzzlePackWriter writer = new PuzzlePackWriter(new FileOutputStream(args[2]), digits, count)) {
+            for (Puzzle puzzle : puzzles) writer.write(puzzle);
+        }
+
+        double averageGuesses = puzzles.stream().mapToInt(Puzzle::size).average().orElse(0);
+        System.out.printf(Locale.US, "%d puzzles (%d digits, avg %.2f guesses) in %.1fs -> %s%n",
+                count, digits, averageGuesses, (System.nanoTime() - start) / 1e9, args[2]);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.hitblow.solver;
+
+import com.example.hitblow.model.CodeSpace;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * SymmetricMinimaxSolver の自己対戦ツール。ランダムな正解に対して対戦し、ターン数と所要時間を表示します。
+ *
+ * <p>JVM 上で単体実行します: {@code SolverSelfPlay <桁数> [ゲーム数] [repeat]}</p>
+ */
+public class SolverSelfPlay {
+
+    private SolverSelfPlay() {
+    }
+
+    /**
+     * ランダムな正解に対して自己対戦し、ターン数と所要時間を表示します。
+     * 例: {@code SolverSelfPlay 6 5}
+     */
+    public static void main(String[] args) {
+        int digits = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        boolean allowRepeats = args.length > 2 && args[2].equals("repeat");
+
+        CodeSpace space = new CodeSpace(digits, allowRepeats);
+        SymmetricMinimaxSolver solver = new SymmetricMinimaxSolver(space);
+        Random random = new Random(digits);
+        System.out.printf(Locale.US, "%d digits%s: %d codes, %d guess classes at start%n", digits,
+                allowRepeats ? " (repeats)" : "", space.size(), new SymmetryReducer(space).reduce().size());
+
+        for (int game = 0; game < games; game++) {
+            int secret = space.codeAt(random.nextInt(space.size()));
+            int[] guesses = new int[32];
+            int[] responses = new int[32];
+            int turns = 0;
+            long start = System.nanoTime();
+            while (true) {
+                int[] candidates = consistentCandidates(space, guesses, responses, turns);
+                SymmetryReducer reducer = new SymmetryReducer(space);
+                for (int t = 0; t < turns; t++) reducer.addGuess(guesses[t]);
+                int guess = space.codeAt(solver.selectGuess(candidates, reducer));
+                int response = CodeSpace.judge(secret, guess, digits);
+                guesses[turns] = guess;
+                responses[turns] = response;
+                turns++;
+                if (response == space.solvedResponse()) break;
+            }
+            System.out.printf(Locale.US, "%s solved in %d turns (%.1fs)%n",
+                    CodeSpace.unpack(secret, digits), turns, (System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    /**
+     * 推測と判定結果の配列から正解候補を求めます。
+     */
+    private static int[] consistentCandidates(CodeSpace space, int[] guesses, int[] responses, int turns) {
+        int[] candidates = new int[space.size()];
+        int count = 0;
+        for (int index = 0; index < space.size(); index++) {
+            int code = space.codeAt(index);
+            int t = 0;
+            while (t < turns && CodeSpace.judge(code, guesses[t], space.getDigits()) == responses[t]) t++;
+            if (t == turns) candidates[count++] = index;
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.hitblow.solver;
+
+import com.example.hitblow.model.CodeSpace;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 推測戦略をすべての正解について全探索し、必要ターン数の厳密な平均・最大・分布を求める検証ツール。
+ * サンプリングによるシミュレーションと異なり、戦略の最悪ケースを証明できます。
+ *
+ * <p>探索木の各ノードは「残り候補の集合」で表され、戦略の推測に対する判定結果ごとに子ノードへ分岐します。
+ * 分岐はワークスティーリング方式の ForkJoinPool で並列に処理します。
+ * 1つの探索木の中で兄弟の部分木は互いに素な候補集合を持つため、候補集合をキーにしたメモ化は効かず、
+ * 各ノードの分布は親に加算した時点で不要になります（保持するのは探索中の経路の分だけです）。</p>
+ *
+ * <p>JVM 上で単体実行することもできます: {@code StrategyVerifier <桁数> [first|minimax] [repeat]}</p>
+ */
+public class StrategyVerifier {
+    // これより小さい候補集合は子タスクを生成せず、現在のスレッドで再帰的に処理する
+    private static final int PARALLEL_THRESHOLD = 64;
+
+    private final CodeSpace space;
+    private final GuessStrategy strategy;
+    private final ForkJoinPool pool;
+
+    /**
+     * 検証結果。histogram[t] は t ターン目で正解できる正解コードの数です。
+     */
+    public static class Report {
+        public final long[] histogram;
+        public final long secrets;   // 検証した正解コードの総数
+        public final int maxTurns;   // 最悪ケースのターン数
+        public final double averageTurns;
+
+        Report(long[] histogram) {
+            this.histogram = histogram.clone();
+            long total = 0;
+            long turnSum = 0;
+            int max = 0;
+            for (int t = 0; t < histogram.length; t++) {
+                total += histogram[t];
+                turnSum += t * histogram[t];
+                if (histogram[t] > 0) max = t;
+            }
+            this.secrets = total;
+            this.maxTurns = max;
+            this.averageTurns = total == 0 ? 0.0 : (double) turnSum / total;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format(Locale.US, "secrets=%d average=%.4f max=%d%n", secrets, averageTurns, maxTurns));
+            for (int t = 1; t < histogram.length; t++) {
+                sb.append(String.format(Locale.US, "  %2d turns: %d%n", t, histogram[t]));
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * 共通の ForkJoinPool を使って検証するインスタンスを生成します。
+     */
+    public StrategyVerifier(CodeSpace space, GuessStrategy strategy) {
+        this(space, strategy, ForkJoinPool.commonPool());
+    }
+
+    public StrategyVerifier(CodeSpace space, GuessStrategy strategy, ForkJoinPool pool) {
+        this.space = space;
+        this.strategy = strategy;
+        this.pool = pool;
+    }
+
+    /**
+     * ゲーム開始時点（全コードが候補）から検証します。
+     */
+    public Report verify() {
+        int[] all = new int[space.size()];
+        for (int i = 0; i < all.length; i++) all[i] = i;
+        return verifyFrom(all);
+    }
+
+    /**
+     * 指定された候補集合の局面から検証します。
+     *
+     * @param candidates 残り候補のインデックス（昇順）
+     */
+    public Report verifyFrom(int[] candidates) {
+        return new Report(pool.invoke(new SubtreeTask(candidates)));
+    }
+
+    /**
+     * 1つの候補集合を根とする部分木を評価するタスク。
+     * 戻り値は「このノードから数えて t 回目の推測で正解する正解コードの数」の分布です。
+     */
+    private class SubtreeTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] candidates;
+
+        SubtreeTask(int[] candidates) {
+            this.candidates = candidates;
+        }
+
+        @Override
+        protected long[] compute() {
+            int guess = strategy.selectGuess(space, candidates);
+            int solved = space.solvedResponse();
+
+            // 判定結果ごとに候補を振り分ける（件数を数えてから配列を確保）
+            int[] responses = new int[candidates.length];
+            int[] groupSizes = new int[space.responseSlots()];
+            for (int i = 0; i < candidates.length; i++) {
+                responses[i] = space.score(candidates[i], guess);
+                groupSizes[responses[i]]++;
+            }
+            int[][] groups = new int[groupSizes.length][];
+            for (int r = 0; r < groupSizes.length; r++) {
+                if (r != solved && groupSizes[r] > 0) {
+                    if (groupSizes[r] == candidates.length) {
+                        throw new IllegalStateException("Strategy made no progress with guess "
+                                + CodeSpace.unpack(space.codeAt(guess), space.getDigits()));
+                    }
+                    groups[r] = new int[groupSizes[r]];
+                }
+            }
+            int[] filled = new int[groupSizes.length];
+            for (int i = 0; i < candidates.length; i++) {
+                int r = responses[i];
+                if (groups[r] != null) groups[r][filled[r]++] = candidates[i];
+            }
+
+            // 子ノードを評価（大きな集合は並列、小さな集合はこのスレッドで処理）
+            long[] histogram = new long[2];
+            histogram[1] = groupSizes[solved];
+            SubtreeTask[] forked = new SubtreeTask[groups.length];
+            for (int r = 0; r < groups.length; r++) {
+                if (groups[r] != null && groups[r].length >= PARALLEL_THRESHOLD) {
+                    forked[r] = new SubtreeTask(groups[r]);
+                    forked[r].fork();
+                }
+            }
+            for (int r = 0; r < groups.length; r++) {
+                if (groups[r] != null && forked[r] == null) {
+                    histogram = mergeShifted(histogram, new SubtreeTask(groups[r]).compute());
+                }
+            }
+            for (int r = groups.length - 1; r >= 0; r--) {
+                if (forked[r] != null) histogram = mergeShifted(histogram, forked[r].join());
+            }
+
+            return histogram;
+        }
+    }
+
+    /**
+     * 子ノードの分布を1ターン分ずらして加算します。
+     */
+    private static long[] mergeShifted(long[] histogram, long[] child) {
+        if (child.length + 1 > histogram.length) {
+            histogram = Arrays.copyOf(histogram, child.length + 1);
+        }
+        for (int t = 0; t < child.length; t++) {
+            histogram[t + 1] += child[t];
+        }
+        return histogram;
+    }
+
+    /**
+     * コマンドラインから検証を実行します。
+     * 例: {@code StrategyVerifier 5 minimax}（3番目の引数に repeat を指定すると重複ありルールで検証）
+     */
+    public static void main(String[] args) {
+        int digits = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        GuessStrategy strategy = args.length > 1 && args[1].equals("minimax")
+                ? new MinimaxStrategy() : new FirstCandidateStrategy();
+
+        long start = System.nanoTime();
+        boolean allowRepeats = args.length > 2 && args[2].equals("repeat");
+        Report report = new StrategyVerifier(new CodeSpace(digits, allowRepeats), strategy).verify();
+        System.out.printf(Locale.US, "%d digits%s, %s (%.1fs)%n", digits, allowRepeats ? " (repeats)" : "",
+                strategy.getClass().getSimpleName(), (System.nanoTime() - start) / 1e9);
+        System.out.print(report);
+    }
+}
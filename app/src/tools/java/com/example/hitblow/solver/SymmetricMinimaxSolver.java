@@ -0,0 +1,106 @@
+package com.example.hitblow.solver;
+
+import com.example.hitblow.model.CodeSpace;
+import com.example.hitblow.model.HistoryStore;
+
+import java.util.Arrays;
+
+/**
+ * 回答履歴から次の推測を求めるソルバー（Knuth方式のミニマックス）。
+ * 推測はコード空間全体から選びますが、SymmetryReducer で同値な推測をまとめ、
+ * 各同値類の代表だけを評価することで、序盤の計算量を大幅に削減しています。
+ * アプリからは使用しない開発用のソルバーで、自己対戦による動作確認は SolverSelfPlay で行えます。
+ */
+public class SymmetricMinimaxSolver {
+    private final CodeSpace space;
+
+    public SymmetricMinimaxSolver(CodeSpace space) {
+        this.space = space;
+    }
+
+    /**
+     * 回答履歴と矛盾しない正解候補のインデックスを返します。
+     */
+    public int[] consistentCandidates(HistoryStore history) {
+        int[] candidates = new int[space.size()];
+        int count = 0;
+        HistoryStore.Cursor cursor = history.cursor();
+        for (int index = 0; index < space.size(); index++) {
+            int code = space.codeAt(index);
+            boolean consistent = true;
+            cursor.reset();
+            while (cursor.moveToNext()) {
+                int response = CodeSpace.response(cursor.eats(), cursor.bites());
+                if (CodeSpace.judge(code, cursor.guessCode(), space.getDigits()) != response) {
+                    consistent = false;
+                    break;
+                }
+            }
+            if (consistent) candidates[count++] = index;
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    /**
+     * 回答履歴から次に推測すべきコードを返します。
+     *
+     * @return 推測コード（CodeSpace形式）。履歴と矛盾しない候補がない場合は -1
+     */
+    public int suggestGuess(HistoryStore history) {
+        int[] candidates = consistentCandidates(history);
+        if (candidates.length == 0) return -1;
+        int guess = selectGuess(candidates, SymmetryReducer.fromHistory(space, history));
+        return space.codeAt(guess);
+    }
+
+    /**
+     * 各同値類の代表について、判定結果ごとに分かれる候補グループの最大サイズを求め、
+     * それが最小になる推測を選びます。同点の場合は正解候補に含まれる推測を優先します。
+     *
+     * @return 推測のインデックス
+     */
+    int selectGuess(int[] candidates, SymmetryReducer reducer) {
+        if (candidates.length <= 2) return candidates[0];
+
+        boolean[] isCandidate = new boolean[space.size()];
+        for (int candidate : candidates) isCandidate[candidate] = true;
+
+        SymmetryReducer.GuessClasses classes = reducer.reduce();
+        int[] groupSizes = new int[space.responseSlots()];
+        int bestGuess = candidates[0];
+        int bestWorst = Integer.MAX_VALUE;
+        boolean bestIsCandidate = true;
+
+        for (int c = 0; c < classes.size(); c++) {
+            int guess = classes.representativeAt(c);
+            Arrays.fill(groupSizes, 0);
+            int worst = 0;
+            for (int answer : candidates) {
+                int size = ++groupSizes[space.score(answer, guess)];
+                if (size > worst) {
+                    worst = size;
+                    if (worst > bestWorst) break;
+                }
+            }
+            boolean candidate = isCandidate[guess];
+            if (worst < bestWorst || (worst == bestWorst && candidate && !bestIsCandidate)) {
+                bestWorst = worst;
+                bestGuess = guess;
+                bestIsCandidate = candidate;
+            }
+        }
+        // 代表に正解候補がなく、候補から選んでも同じ最悪値になる場合は候補を優先する
+        if (!bestIsCandidate) {
+            for (int guess : candidates) {
+                Arrays.fill(groupSizes, 0);
+                int worst = 0;
+                for (int answer : candidates) {
+                    worst = Math.max(worst, ++groupSizes[space.score(answer, guess)]);
+                    if (worst > bestWorst) break;
+                }
+                if (worst == bestWorst) return guess;
+            }
+        }
+        return bestGuess;
+    }
+}
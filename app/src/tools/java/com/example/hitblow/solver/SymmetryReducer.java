@@ -0,0 +1,165 @@
+package com.example.hitblow.solver;
+
+import com.example.hitblow.model.CodeSpace;
+import com.example.hitblow.model.HistoryStore;
+
+import java.util.Arrays;
+
+/**
+ * コード空間の対称性を利用して、推測の候補を「本質的に異なるもの」だけに絞り込むクラス。
+ *
+ * <p>これまでの推測に一度も現れていない数字（未使用の数字）は、互いに入れ替えても
+ * 過去の判定結果が変わらないため区別できません。そこで推測に含まれる未使用の数字を、
+ * 左から現れた順に小さい未使用の数字へ置き換えたものを代表（正規形）とし、
+ * 同じ正規形を持つ推測をまとめて1つとして評価します。
+ * まだ1回も推測していない局面では桁の位置も入れ替え可能なため、数字の出現数だけで正規化します。</p>
+ *
+ * <p>序盤は候補となる推測が桁違いに減るため、6桁以上でも推測の選択が現実的な時間で行えます。</p>
+ */
+public class SymmetryReducer {
+    private static final int ALL_DIGITS = (1 << 10) - 1;
+
+    private final CodeSpace space;
+    private int freeDigits = ALL_DIGITS; // 未使用の数字の集合（bit0〜bit9）
+    private boolean positionSymmetric = true; // まだ推測がなく、桁の位置も入れ替え可能か
+
+    // 正規化用の作業領域（インスタンスごとに使い回す）
+    private final int[] relabel = new int[10];
+    private final int[] counts = new int[10];
+
+    public SymmetryReducer(CodeSpace space) {
+        this.space = space;
+    }
+
+    /**
+     * 回答履歴に含まれる推測をすべて反映した状態で生成します。
+     */
+    public static SymmetryReducer fromHistory(CodeSpace space, HistoryStore history) {
+        SymmetryReducer reducer = new SymmetryReducer(space);
+        HistoryStore.Cursor cursor = history.cursor();
+        while (cursor.moveToNext()) {
+            reducer.addGuess(cursor.guessCode());
+        }
+        return reducer;
+    }
+
+    /**
+     * 推測を1つ反映し、そこに含まれる数字を「使用済み」にします。
+     */
+    public void addGuess(int guessCode) {
+        for (int i = 0; i < space.getDigits(); i++) {
+            freeDigits &= ~(1 << ((guessCode >>> (i * 4)) & 0xF));
+        }
+        positionSymmetric = false;
+    }
+
+    /**
+     * まだどの推測にも現れていない数字の集合を返します。
+     */
+    public int getFreeDigits() {
+        return freeDigits;
+    }
+
+    /**
+     * コードを正規形（同じ同値類の代表）に変換します。
+     */
+    public int canonicalize(int code) {
+        int digits = space.getDigits();
+        Arrays.fill(relabel, -1);
+        int remaining = freeDigits;
+        int result = 0;
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            int digit = (code >>> shift) & 0xF;
+            if ((freeDigits & (1 << digit)) != 0) {
+                if (relabel[digit] < 0) {
+                    // 未使用の数字は、現れた順に小さい未使用の数字へ割り当てる
+                    relabel[digit] = Integer.numberOfTrailingZeros(remaining);
+                    remaining &= remaining - 1;
+                }
+                digit = relabel[digit];
+            }
+            result = (result << 4) | digit;
+        }
+        return positionSymmetric ? sortByMultiplicity(result, digits) : result;
+    }
+
+    /**
+     * 桁の位置も入れ替え可能な局面で、数字の出現数が多い順に 0, 1, 2... を並べた形に正規化します。
+     * （例: 0102 → 0012、0123 → 0123）
+     */
+    private int sortByMultiplicity(int code, int digits) {
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < digits; i++) {
+            counts[(code >>> (i * 4)) & 0xF]++;
+        }
+        Arrays.sort(counts);
+        int result = 0;
+        int label = 0;
+        for (int c = counts.length - 1; c >= 0 && counts[c] > 0; c--, label++) {
+            for (int k = 0; k < counts[c]; k++) {
+                result = (result << 4) | label;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * コード空間全体を同値類に分け、代表となる推測とその同値類の大きさ（多重度）を返します。
+     */
+    public GuessClasses reduce() {
+        int[] canonical = new int[space.size()];
+        for (int i = 0; i < canonical.length; i++) {
+            canonical[i] = canonicalize(space.codeAt(i));
+        }
+        Arrays.sort(canonical);
+
+        int classCount = 0;
+        for (int i = 0; i < canonical.length; i++) {
+            if (i == 0 || canonical[i] != canonical[i - 1]) classCount++;
+        }
+        int[] representatives = new int[classCount];
+        int[] multiplicities = new int[classCount];
+        int c = -1;
+        for (int i = 0; i < canonical.length; i++) {
+            if (i == 0 || canonical[i] != canonical[i - 1]) {
+                representatives[++c] = space.indexOf(canonical[i]);
+            }
+            multiplicities[c]++;
+        }
+        return new GuessClasses(representatives, multiplicities);
+    }
+
+    /**
+     * 推測の同値類。代表はコード空間のインデックスで保持します。
+     */
+    public static class GuessClasses {
+        private final int[] representatives;
+        private final int[] multiplicities;
+
+        GuessClasses(int[] representatives, int[] multiplicities) {
+            this.representatives = representatives;
+            this.multiplicities = multiplicities;
+        }
+
+        /**
+         * 同値類の数を返します。
+         */
+        public int size() {
+            return representatives.length;
+        }
+
+        /**
+         * 代表となる推測のインデックスを返します。
+         */
+        public int representativeAt(int index) {
+            return representatives[index];
+        }
+
+        /**
+         * 同値類に含まれる推測の数を返します。
+         */
+        public int multiplicityAt(int index) {
+            return multiplicities[index];
+        }
+    }
+}